@@ -0,0 +1,248 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Microbenchmarks for the hot paths of the solver: scoring, filtering the remaining possibilities, choosing a guess
+ * and playing whole games
+ *
+ * Each benchmark is run for a number of warmup iterations, which are thrown away, and then for a number of measured
+ * iterations of a fixed length. The mean time per operation and its standard deviation over the measured iterations
+ * are reported. Results are written to a volatile field so that the JIT cannot remove the work being measured
+ */
+public class MastermindBenchmark {
+    /**
+     * The number of warmup iterations, set with -Dbench.warmup
+     */
+    private static final int WARMUP = Integer.getInteger("bench.warmup", 5);
+    /**
+     * The number of measured iterations, set with -Dbench.iterations
+     */
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 10);
+    /**
+     * The length of each iteration in milliseconds, set with -Dbench.time
+     */
+    private static final long ITERATION_NANOS = Long.getLong("bench.time", 200) * 1000000;
+    /**
+     * The number of random pairs of codes to cycle through when scoring
+     */
+    private static final int PAIRS = 1024;
+
+    /**
+     * Somewhere to put results so that the work producing them can't be optimised away
+     */
+    private static volatile int sink;
+
+    /**
+     * A single operation to be timed
+     */
+    private interface Operation {
+        /**
+         * Runs the operation once
+         *
+         * @param i     The number of times the operation has been run so far, to vary the input
+         * @return      Any result of the operation
+         */
+        int run(int i);
+    }
+
+    /**
+     * Runs every benchmark for each board given on the command line
+     *
+     * @param args      The boards to benchmark as holes x colours, e.g. 4x6 5x8 (defaults to 4x6)
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            args = new String[] {"4x6"};
+        }
+
+        System.out.println(String.format("%-28s %-8s %-14s %14s %12s", "Benchmark", "Board", "Strategy", "ns/op", "error"));
+        for (String board : args) {
+            String[] parts = board.split("x");
+            benchmarkBoard(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+    }
+
+    /**
+     * Runs every benchmark for one board
+     *
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     */
+    private static void benchmarkBoard(int holes, int colours) {
+        String board = holes + "x" + colours;
+        int count = Codes.count(holes, colours);
+        Random random = new Random(42);
+
+        // random pairs of codes to score, in both packed and unpacked form
+        int[] guesses = new int[PAIRS];
+        int[] secrets = new int[PAIRS];
+        int[][] guessArrays = new int[PAIRS][];
+        int[][] secretArrays = new int[PAIRS][];
+        for (int i = 0; i < PAIRS; ++i) {
+            guesses[i] = random.nextInt(count);
+            secrets[i] = random.nextInt(count);
+            guessArrays[i] = Codes.unpack(guesses[i], holes, colours);
+            secretArrays[i] = Codes.unpack(secrets[i], holes, colours);
+        }
+
+        Feedback feedback = Feedback.forBoard(holes, colours);
+        CodeSet all = CodeSet.range(count);
+
+        measure("scoreArrays", board, "-", i -> Scorer.score(guessArrays[i % PAIRS], secretArrays[i % PAIRS]));
+        measure("scorePacked", board, "-", i -> Scorer.score(guesses[i % PAIRS], secrets[i % PAIRS], holes, colours));
+        measure("feedbackOutcome", board, "-", i -> feedback.outcome(guesses[i % PAIRS], secrets[i % PAIRS]));
+
+        // score a guess against every code, one pair at a time and then as a batch (reported per code)
+        BatchScorer batch = BatchScorer.forCodes(CodeSet.range(count), holes, colours);
+        byte[] scores = new byte[count];
+        String batchKind = BatchScorer.isVectorised() ? "vector" : "scalar";
+        measure("scoreRowPacked", board, "-", i -> {
+            int guess = guesses[i % PAIRS];
+            int sum = 0;
+            for (int code = 0; code < count; ++code) {
+                sum += Scorer.score(guess, code, holes, colours);
+            }
+            return sum;
+        }, count);
+        measure("scoreRowBatch", board, batchKind, i -> {
+            batch.score(guesses[i % PAIRS], scores);
+            return scores[0];
+        }, count);
+
+        // filter the full set by the first guess against a different secret each time
+        CodeSet remaining = new CodeSet(all);
+        measure("removeImpossibleGuesses", board, "-", i -> {
+            remaining.copyFrom(all);
+            int guess = guesses[i % PAIRS];
+            int outcome = feedback.outcome(guess, secrets[i % PAIRS]);
+            return remaining.retainIf(possibility -> feedback.outcome(possibility, guess) == outcome);
+        });
+
+        // the same filtering as a word-wise AND with the mask for the guess and feedback
+        OutcomeMasks masks = OutcomeMasks.forBoard(holes, colours);
+        CodeBits allBits = CodeBits.range(count);
+        CodeBits remainingBits = CodeBits.range(count);
+        measure("removeImpossibleBits", board, "-", i -> {
+            remainingBits.copyFrom(allBits);
+            int guess = guesses[i % PAIRS];
+            return remainingBits.retainAll(masks.mask(guess, feedback.outcome(guess, secrets[i % PAIRS])));
+        });
+
+        // count the partitions a guess splits the full set into, by scoring every code and by popcounts of the masks
+        int[] partition = new int[feedback.outcomes()];
+        measure("partitionLookups", board, "-", i -> {
+            int guess = guesses[i % PAIRS];
+            Arrays.fill(partition, 0);
+            for (int code = 0; code < count; ++code) {
+                ++partition[feedback.outcome(guess, code)];
+            }
+            return partition[0];
+        });
+        measure("partitionPopcounts", board, "-", i -> {
+            masks.partitionSizes(guesses[i % PAIRS], allBits, partition);
+            return partition[0];
+        });
+
+        // the random strategy just takes the first remaining possibility, so measure it on a filtered set
+        List<CodeSet> filtered = new ArrayList<>();
+        for (int i = 0; i < 16; ++i) {
+            CodeSet set = new CodeSet(all);
+            int guess = guesses[i];
+            int outcome = feedback.outcome(guess, secrets[i]);
+            set.retainIf(possibility -> feedback.outcome(possibility, guess) == outcome);
+            filtered.add(set);
+        }
+        measure("getRandomGuess", board, "RANDOM", i -> {
+            CodeSet set = filtered.get(i % filtered.size());
+            return set.isEmpty() ? 0 : set.get(0);
+        });
+
+        // rate the guesses by each criterion, WORST_CASE being the minimax strategy
+        for (Criterion criterion : Criterion.values()) {
+            PartitionSearch search = new PartitionSearch(feedback, criterion, 1);
+            measure("choosePartitionedGuess", board, criterion.toString(), i -> search.choose(filtered.get(i % filtered.size())));
+        }
+
+        // play whole games, one for a different secret each time
+        for (Strategy strategy : Strategy.values()) {
+            Mastermind mastermind = new Mastermind(holes, colours, strategy);
+            measure("fullGame", board, strategy.toString(), i -> {
+                mastermind.setHiddenGuess(secrets[i % PAIRS]);
+                int guessCount = 0;
+                do {
+                    ++guessCount;
+                } while (!mastermind.guess());
+                return guessCount;
+            });
+        }
+    }
+
+    /**
+     * Times an operation and prints the result
+     *
+     * @param name          The name of the benchmark
+     * @param board         The board being benchmarked
+     * @param strategy      The strategy being benchmarked, or "-" if it doesn't apply
+     * @param operation     The operation to time
+     */
+    private static void measure(String name, String board, String strategy, Operation operation) {
+        measure(name, board, strategy, operation, 1);
+    }
+
+    /**
+     * Times an operation which does a number of units of work and prints the result per unit
+     *
+     * @param name          The name of the benchmark
+     * @param board         The board being benchmarked
+     * @param strategy      The strategy being benchmarked, or "-" if it doesn't apply
+     * @param operation     The operation to time
+     * @param units         The number of units of work done by each run of the operation
+     */
+    private static void measure(String name, String board, String strategy, Operation operation, int units) {
+        int op = 0;
+        int batch = 1;
+        double[] results = new double[ITERATIONS];
+
+        for (int iteration = -WARMUP; iteration < ITERATIONS; ++iteration) {
+            int result = 0;
+            long ops = 0;
+            long start = System.nanoTime();
+            long elapsed;
+            // keep running the operation until the iteration is up, checking the clock after each batch
+            do {
+                long batchStart = System.nanoTime();
+                for (int k = 0; k < batch; ++k) {
+                    result += operation.run(op++);
+                }
+                ops += batch;
+                long now = System.nanoTime();
+                elapsed = now - start;
+                // grow the batch for fast operations so that reading the clock doesn't dominate
+                if (now - batchStart < 10000) {
+                    batch *= 2;
+                }
+            } while (elapsed < ITERATION_NANOS);
+            sink = result;
+
+            if (iteration >= 0) {
+                results[iteration] = (double) elapsed / ops / units;
+            }
+        }
+
+        double mean = 0;
+        for (double result : results) {
+            mean += result;
+        }
+        mean /= results.length;
+
+        double variance = 0;
+        for (double result : results) {
+            variance += (result - mean) * (result - mean);
+        }
+        double error = results.length > 1 ? Math.sqrt(variance / (results.length - 1)) : 0;
+
+        System.out.println(String.format("%-28s %-8s %-14s %14.1f %12.1f", name, board, strategy, mean, error));
+    }
+}
@@ -5,6 +5,10 @@ import java.awt.GridLayout;
 import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -12,18 +16,22 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.UnsupportedLookAndFeelException;
 import javax.swing.WindowConstants;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Set;
-
 public class Mastermind extends JFrame implements ActionListener {
+    /**
+     * The longest the computer may take to choose a guess, in milliseconds, set with -Dmastermind.budget
+     */
+    private static final int BUDGET_MILLIS = Integer.getInteger("mastermind.budget", 5000);
+    /**
+     * The share of the time budget the search itself may use, leaving the rest for the work around it
+     */
+    private static final double SEARCH_SHARE = 0.9;
     /**
      * The number of blocks that we want to guess the position for
      */
@@ -68,6 +76,14 @@ public class Mastermind extends JFrame implements ActionListener {
      * The button that the user presses to confirm the guess
      */
     private JButton guess;
+    /**
+     * The button that the user presses to stop the computer searching for a guess
+     */
+    private JButton cancel;
+    /**
+     * Shows that the computer is searching for a guess and for how long
+     */
+    private JProgressBar thinking;
     /**
      * Panel for laying out coloured pegs
      */
@@ -85,13 +101,18 @@ public class Mastermind extends JFrame implements ActionListener {
      */
     private JPanel userChoicePanel = new JPanel();
     /**
-     * The set of all remaining possibilities that the users choice could be
+     * The solver which chooses the computer's guesses
+     */
+    private Solver solver;
+    /**
+     * The thread that the computer searches for guesses on, one at a time so that a cancelled search always finishes
+     * before the next one starts
      */
-    private Set<int[]> remainingPossibilities;
+    private ExecutorService searcher;
     /**
-     * The list of all possible valid combinations of black and white pegs
+     * The search for the current guess, or null if the computer isn't searching
      */
-    private List<int[]> outcomes;
+    private GuessWorker worker;
     /**
      * The number of whites on the previous guess
      */
@@ -101,68 +122,6 @@ public class Mastermind extends JFrame implements ActionListener {
      */
     private int lastBlacks;
 
-    /**
-     * Returns the number of guessed colours that are the correct colours in the correct positions
-     *
-     * @param one   The guess
-     * @param two   The hidden answer
-     * @return      The number of colours in the correct position
-     */
-    private static int blacks(int[] one, int[] two) {
-        int val = 0;
-        // iterate over the arrays
-        for (int i = 0; i < one.length; ++i) {
-            // if they have the same value at the same point in the array increment the val counter
-            if (one[i] == two[i]) {
-                ++val;
-            }
-        }
-        return val;
-    }
-
-    /**
-     * Returns the number of guessed colours that are the correct colours in the incorrect positions
-     *
-     * @param one   The guess
-     * @param two   The hidden answer
-     * @return      The number of correct colours in the wrong positions
-     */
-    private static int whites(int[] one, int[] two) {
-        int val = 0;
-        int[] oneA = new int[one.length];
-        int[] twoA = new int[two.length];
-
-        // create a copy of the two input arrays
-        System.arraycopy(one, 0, oneA, 0, one.length);
-        System.arraycopy(two, 0, twoA, 0, two.length);
-
-        // check each of the items in corresponding positions
-        for (int i = 0; i < one.length; ++i) {
-            // if they are the same, i.e. in the correct position
-            if (oneA[i] == twoA[i]) {
-                // mark as dealt with (since blacks() handles that) by subtracting the current iteration and an arbitrary sufficiently different value from each
-                oneA[i] = 0 - i - 10;
-                twoA[i] = 0 - i - 20;
-            }
-        }
-
-        // compare each item in oneA to every item in twoA
-        for (int i = 0; i < one.length; ++i) {
-            for (int j = 0; j < one.length; ++j) {
-                // don't want to check items at the same index - we did that earlier - only ones in different positions
-                if (i != j && oneA[i] == twoA[j]) {
-                    // increment the counter of whites
-                    ++val;
-                    // mark each one as dealt with
-                    oneA[i] = 0 - i - 10;
-                    twoA[j] = 0 - j - 20;
-                    break;
-                }
-            }
-        }
-        return val;
-    }
-
     /**
      * Returns a different Colour object depending on the integer passed in
      *
@@ -186,84 +145,6 @@ public class Mastermind extends JFrame implements ActionListener {
         }
     }
 
-    /**
-     * Generates a list of all possible combinations of black and white pegs
-     * 
-     * @param width   The number of holes  
-     * @return       The list of possible combinations of blacks and white pegs 
-     */
-    private static List<int[]> generateAllOutcomes(int width) {
-        List<int[]> outcomes = new ArrayList<>();
-        int[] whiteBlackCombination = new int[2];
-
-        // want to iterate only the up to maximum number of possible outcomes which is width * width
-        int i = 0;
-        while (i <= width * width) {
-            // create a copy of the combination so that we aren't adding references to the same object multiple times
-            int[] copyOfWBCombination = new int[whiteBlackCombination.length];
-            System.arraycopy(whiteBlackCombination, 0, copyOfWBCombination, 0, whiteBlackCombination.length);
-
-            // only want to add the combination if the sum doesn't exceed the number of holes
-            if (whiteBlackCombination[0] + whiteBlackCombination[1] <= width) {
-                if (!(whiteBlackCombination[0] == 3 && whiteBlackCombination[1] == 1)) {
-                    outcomes.add(copyOfWBCombination);
-                }
-            }
-
-            // increment the last element by 1
-            ++whiteBlackCombination[1];
-
-            // don't increment the loop counter if the last element goes beyond the number of holes (don't want to waste iteration)
-            if (whiteBlackCombination[1] != width + 1) {
-                ++i;
-            }
-
-            // if the last element exceeded width, then reset to 0 and increment first element
-            if (whiteBlackCombination[1] > width) {
-                whiteBlackCombination[1] = 0;
-                ++whiteBlackCombination[0];
-            }
-        }
-
-        return outcomes;
-    }
-
-    /**
-     * Generates all the possible ways of organising a given number of colours into a given number of holes
-     *
-     * @param holes     The number of holes to arrange the colours in
-     * @param colours   The number of colours available for selection
-     * @return          The set of all possible colour combinations
-     */
-    private static Set<int[]> generateAllPossibilities(int holes, int colours) {
-        Set<int[]> allPossibilities = new HashSet<>();
-        int[] possibility = new int[holes];
-
-        // want to iterate colours to the power of holes times
-        for (int i = 0; i < Math.pow(colours, holes); ++i) {
-
-            // create a copy of the possibility so that we aren't adding references to the same object multiple times
-            int[] copyOfPoss = new int[possibility.length];
-            System.arraycopy(possibility, 0, copyOfPoss, 0, possibility.length);
-
-            // add the copy of the current possibility
-            allPossibilities.add(copyOfPoss);
-
-            // increment the last element by 1
-            ++possibility[possibility.length - 1];
-
-            // iterate over each "column" from right to left
-            for (int j = holes - 1; j > 0; --j) {
-                // if we exceed our numeric base set it back to zero and increment the column to the left
-                if (possibility[j] == colours) {
-                    possibility[j] = 0;
-                    ++possibility[j - 1];
-                }
-            }
-        }
-        return allPossibilities;
-    }
-
     /**
      * Creates a new Mastermind object
      *
@@ -284,10 +165,21 @@ public class Mastermind extends JFrame implements ActionListener {
         blacks = new JButton[height][width];
         userChoice = new JButton[width];
 
-        // generate the set of all possible combinations of colours
-        remainingPossibilities = generateAllPossibilities(width, numColors);
-
-        outcomes = generateAllOutcomes(width);
+        // the computer uses the minimax strategy to work out the user's choice
+        solver = new Solver(width, numColors, Strategy.MINIMAX);
+        // search on a daemon thread so that it never stops the program from exiting
+        searcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Mastermind guess search");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // the cancel button and progress bar are only used while the computer is searching
+        cancel = new JButton("Cancel");
+        cancel.setEnabled(false);
+        thinking = new JProgressBar();
+        thinking.setStringPainted(true);
+        thinking.setVisible(false);
 
         // want the all of the panels to have matching numbers of rows and columns in grid layout
         colouredPanel.setLayout(new GridLayout(height, width));
@@ -372,6 +264,8 @@ public class Mastermind extends JFrame implements ActionListener {
         JPanel guessPanel = new JPanel();
         guessPanel.setLayout(new FlowLayout());
         guessPanel.add(guess);
+        guessPanel.add(cancel);
+        guessPanel.add(thinking);
         add(guessPanel, "South");
 
         // create a panel for containing the black/white labels and the answer and put it at the top
@@ -390,104 +284,123 @@ public class Mastermind extends JFrame implements ActionListener {
         setVisible(true);
 
         guess.addActionListener(this);
+        cancel.addActionListener(event -> {
+            if (worker != null) {
+                worker.cancel(true);
+            }
+        });
 
         // let the program exit if user tries to quit
         setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
     }
 
     /**
-     * Makes a guess by choosing the first item from the hashset that's available
+     * Searches for the computer's next guess in the background, so that the window keeps responding while it does
      *
-     * @return      Returns the next guess to make
+     * The search is abandoned if the user cancels it. Most of the time budget is given to the search, which settles
+     * for the best guess it has found when that runs out. If choosing still runs past the whole budget the computer
+     * makes the quickest guess that could still be right instead
      */
-    private int[] getRandomGuess() {
-        Iterator<int[]> iterator = remainingPossibilities.iterator();
-        int[] nextGuess = new int[width];
+    private class GuessWorker extends SwingWorker<Integer, Void> {
+        /**
+         * Stops the search if it is still going once the whole time budget has run out
+         */
+        private final Timer budget;
+        /**
+         * Updates the time shown on the progress bar
+         */
+        private final Timer ticker;
+        /**
+         * When the search started, in nanoseconds
+         */
+        private final long start;
+        /**
+         * Whether the search was stopped because it ran out of time
+         */
+        private volatile boolean timedOut;
+        /**
+         * The thread running the search, once it has started
+         */
+        private volatile Thread runner;
 
-        if (iterator.hasNext()) {
-            nextGuess = iterator.next();
+        /**
+         * Constructor
+         */
+        private GuessWorker() {
+            start = System.nanoTime();
+            budget = new Timer(BUDGET_MILLIS, event -> timeOut());
+            budget.setRepeats(false);
+            ticker = new Timer(100, event -> thinking.setString(String.format("Thinking... %.1f s", (System.nanoTime() - start) / 1e9)));
         }
 
-        return nextGuess;
-    }
+        /**
+         * Starts the search and the timers
+         */
+        private void begin() {
+            thinking.setIndeterminate(true);
+            thinking.setString("Thinking...");
+            thinking.setVisible(true);
+            budget.start();
+            ticker.start();
+            searcher.execute(this);
+        }
 
-    /**
-     * Makes an informed choice about which guess to make next by using minmax technique
-     *
-     * @return      Returns the next guess to make
-     */
-    private int[] getMinMaxedGuess() {
-        int min = Integer.MAX_VALUE;
-        int[] minCombination = new int[width];
-        int[] whiteBlackCombination = new int[2];
-
-        // check every possible guess against every other possible guess
-        for (int[] guess : remainingPossibilities) {
-            // the max number that would not be eliminated
-            int max = 0;
-            // want to compare for every possible outcome
-            for (int[] outcome : outcomes) {
-                // the current elimination count
-                int count = 0;
-                for (int[] solution : remainingPossibilities) {
-                    // check the potential guess against other possibilities
-                    whiteBlackCombination[0] = whites(guess, solution);
-                    whiteBlackCombination[1] = blacks(guess, solution);
-                    // if it would be not be eliminated then increment the count
-                    if (Arrays.equals(whiteBlackCombination, outcome)) {
-                        ++count;
-                    }
-                }
-                // if we have found a higher count then set max to the count
-                if (count > max) {
-                    max = count;
-                }
-            }
-            // if the max for the current guess is less than the min then let this be our guess for now
-            if (max < min) {
-                min = max;
-                minCombination = guess;
+        /**
+         * Stops the search because it has run out of time, without cancelling the worker
+         */
+        private void timeOut() {
+            timedOut = true;
+            Thread thread = runner;
+            if (thread != null) {
+                thread.interrupt();
             }
         }
 
-        return minCombination;
-    }
-
-    /**
-     * Remove any guesses from our set of possibilities that cannot be the answer
-     */
-    private void removeImpossibleGuesses() {
-        // use an iterator over the set since we want to remove some elements
-        Iterator<int[]> iterator = remainingPossibilities.iterator();
-        // iterate over the remaining possible combinations
-        while(iterator.hasNext()) {
-            int[] possibility = iterator.next();
-            // don't want to keep the element if it cannot possibly be the correct answer
-            if (whites(possibility, state[numGuesses - 1]) != lastWhites || blacks(possibility, state[numGuesses - 1]) != lastBlacks) {
-                iterator.remove();
+        @Override
+        protected Integer doInBackground() {
+            // clear any interrupt left over from the last search
+            Thread.interrupted();
+            runner = Thread.currentThread();
+            try {
+                // the solver only chooses the guess here, it is made on the event thread once the search is over
+                return solver.chooseNextGuess(Budget.millis((long) (BUDGET_MILLIS * SEARCH_SHARE))).getGuess();
+            }
+            finally {
+                runner = null;
             }
         }
-    }
 
-    /**
-     * Make a new guess based on the information from previous turn
-     */
-    private void makeGuess() {
-        // if we're on the first guess just use 0,0,1,1 (or if longer than four holes just keep adding 1's)
-        if (numGuesses == 0) {
-            for (int i = 0; i < state[numGuesses].length; ++i) {
-                state[numGuesses][i] = i < 2 ? 0 : 1;
-                colouredPegs[numGuesses][i].setBackground(choose(state[numGuesses][i]));
+        @Override
+        protected void done() {
+            budget.stop();
+            ticker.stop();
+            thinking.setIndeterminate(false);
+            thinking.setVisible(false);
+            cancel.setEnabled(false);
+            worker = null;
+
+            // if the user cancelled then leave it for them to ask again
+            if (isCancelled()) {
+                guess.setEnabled(true);
+                return;
             }
-        }
-        else {
-            // remove any potential guesses that cannot be correct answer
-            removeImpossibleGuesses();
-            // get the values for next guess
-            state[numGuesses] = getMinMaxedGuess();
-            // update the colours of the buttons corresponding to the guess
-            for (int i = 0; i < state[numGuesses].length; ++i) {
-                colouredPegs[numGuesses][i].setBackground(choose(state[numGuesses][i]));
+            try {
+                int next = get();
+                solver.makeGuess(next);
+                guessMade(next);
+            }
+            catch (ExecutionException e) {
+                if (timedOut && e.getCause() instanceof CancellationException) {
+                    // there wasn't time to search, so just make a guess that could still be the solution
+                    guessMade(solver.nextConsistentGuess());
+                }
+                else {
+                    guess.setEnabled(true);
+                    JOptionPane.showMessageDialog(Mastermind.this, e.getCause().toString(), "Search failed", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         }
     }
@@ -507,6 +420,7 @@ public class Mastermind extends JFrame implements ActionListener {
         }
         // otherwise free up resources and start the game again
         else {
+            searcher.shutdownNow();
             dispose();
             new Mastermind(height, width, numColors);
         }
@@ -514,7 +428,7 @@ public class Mastermind extends JFrame implements ActionListener {
 
     /**
      * Called when the guess button is clicked
-     * Checks the number of coloured pegs in the right positions and updates the ui accordingly
+     * Starts the computer searching for its next guess in the background
      *
      * @param e     The ActionEvent triggered when the guess button is clicked
      */
@@ -526,12 +440,34 @@ public class Mastermind extends JFrame implements ActionListener {
             }
         }
 
-        // let the computer make a guess before updating the UI
-        makeGuess();
+        // only let the user cancel while the computer is searching
+        guess.setEnabled(false);
+        cancel.setEnabled(true);
+        worker = new GuessWorker();
+        worker.begin();
+    }
+
+    /**
+     * Called once the computer has made its guess
+     * Checks the number of coloured pegs in the right positions and updates the ui accordingly
+     *
+     * @param next      The packed code of the guess
+     */
+    private void guessMade(int next) {
+        // update the colours of the buttons corresponding to the guess
+        state[numGuesses] = Codes.unpack(next, width, numColors);
+        for (int i = 0; i < state[numGuesses].length; ++i) {
+            colouredPegs[numGuesses][i].setBackground(choose(state[numGuesses][i]));
+        }
+        guess.setEnabled(true);
 
         // get the number of white and black pegs for the last guess
-        lastWhites = whites(state[numGuesses], hiddenGuess);
-        lastBlacks = blacks(state[numGuesses], hiddenGuess);
+        int score = Scorer.score(state[numGuesses], hiddenGuess);
+        lastWhites = Scorer.whites(score);
+        lastBlacks = Scorer.blacks(score);
+
+        // let the computer rule out anything that can't be the answer
+        solver.submitFeedback(lastBlacks, lastWhites);
 
         // if the number of black pegs is the same as the total number of pegs, then the game is won
         if (lastBlacks == width) {
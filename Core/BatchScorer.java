@@ -0,0 +1,158 @@
+import java.lang.reflect.Constructor;
+
+/**
+ * Scores guesses against a fixed set of codes many at a time
+ *
+ * The codes are unpacked once into a column per hole and a column of counts per colour, so that scoring a guess
+ * against all of them is the same few operations repeated down each column: a code's blacks are the holes whose digit
+ * matches the guess, and its blacks plus whites are the sum over colours of the smaller of its count and the guess's.
+ * That layout lets the work be done for many codes at once with SIMD instructions, which VectorBatchScorer does using
+ * the jdk.incubator.vector module. forCodes() uses it when it has been compiled in and the module is present (see the
+ * __README__.txt of each folder), and this scalar version otherwise
+ */
+public class BatchScorer {
+    /**
+     * The fewest codes worth setting up a batch for
+     */
+    public static final int MIN_SIZE = 64;
+    /**
+     * The vector version's constructor, or null if it isn't available or has been turned off with
+     * -Dmastermind.vector=false
+     */
+    private static final Constructor<? extends BatchScorer> VECTOR = findVector();
+
+    /**
+     * The number of holes
+     */
+    protected final int holes;
+    /**
+     * The number of colours
+     */
+    protected final int colours;
+    /**
+     * The number of codes
+     */
+    protected final int size;
+    /**
+     * The digit in each hole of each code, one column per hole
+     */
+    protected final byte[][] digits;
+    /**
+     * The number of times each colour appears in each code, one column per colour
+     */
+    protected final byte[][] counts;
+
+    /**
+     * Constructor
+     *
+     * @param codes     The packed codes to score against
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     */
+    protected BatchScorer(CodeSet codes, int holes, int colours) {
+        if (holes > Scorer.MAX_HOLES) {
+            throw new IllegalArgumentException("Batch scoring supports at most " + Scorer.MAX_HOLES + " holes.");
+        }
+        this.holes = holes;
+        this.colours = colours;
+        size = codes.size();
+        digits = new byte[holes][size];
+        counts = new byte[colours][size];
+
+        int[] code = new int[holes];
+        for (int i = 0; i < size; ++i) {
+            Codes.unpack(codes.get(i), colours, code);
+            for (int hole = 0; hole < holes; ++hole) {
+                digits[hole][i] = (byte) code[hole];
+                ++counts[code[hole]][i];
+            }
+        }
+    }
+
+    /**
+     * Prepares to score guesses against a set of codes, using SIMD instructions if they are available
+     *
+     * @param codes     The packed codes to score against
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     * @return          The batch scorer
+     */
+    public static BatchScorer forCodes(CodeSet codes, int holes, int colours) {
+        if (VECTOR != null) {
+            try {
+                return VECTOR.newInstance(codes, holes, colours);
+            }
+            catch (ReflectiveOperationException | LinkageError e) {
+                // fall back to the scalar version below
+            }
+        }
+        return new BatchScorer(codes, holes, colours);
+    }
+
+    /**
+     * Looks up the vector version, which is only there if it was compiled with the jdk.incubator.vector module
+     *
+     * @return  The vector version's constructor, or null if it isn't available
+     */
+    private static Constructor<? extends BatchScorer> findVector() {
+        if (!Boolean.parseBoolean(System.getProperty("mastermind.vector", "true"))) {
+            return null;
+        }
+        try {
+            Class<? extends BatchScorer> type = Class.forName("VectorBatchScorer").asSubclass(BatchScorer.class);
+            Constructor<? extends BatchScorer> constructor = type.getConstructor(CodeSet.class, int.class, int.class);
+            // make sure the module can actually be used before relying on it
+            constructor.newInstance(CodeSet.range(1), 1, 1);
+            return constructor;
+        }
+        catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether guesses are being scored with SIMD instructions
+     *
+     * @return  True if the vector version is in use, false otherwise
+     */
+    public static boolean isVectorised() {
+        return VECTOR != null;
+    }
+
+    /**
+     * Scores a guess against every code
+     *
+     * @param guess     The packed guess
+     * @param into      The array to write the outcome index for each code into, as an unsigned byte
+     */
+    public void score(int guess, byte[] into) {
+        int[] guessDigits = Codes.unpack(guess, holes, colours);
+        int[] guessCounts = new int[colours];
+        for (int colour : guessDigits) {
+            ++guessCounts[colour];
+        }
+
+        for (int i = 0; i < size; ++i) {
+            int blacks = 0;
+            for (int hole = 0; hole < holes; ++hole) {
+                if (digits[hole][i] == guessDigits[hole]) {
+                    ++blacks;
+                }
+            }
+            int matches = 0;
+            for (int colour = 0; colour < colours; ++colour) {
+                matches += Math.min(counts[colour][i], guessCounts[colour]);
+            }
+            into[i] = (byte) FeedbackTable.outcomeIndex(holes, blacks, matches - blacks);
+        }
+    }
+
+    /**
+     * Getter for the number of codes
+     *
+     * @return  The number of codes scored against
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,163 @@
+import java.util.Arrays;
+
+/**
+ * Plays a game for each of a set of secrets all at once, by walking them down a solver's strategy together
+ *
+ * Games for different secrets make the same guesses until their feedback differs, so the secrets are kept in groups
+ * which have had the same feedback so far. The guess for a group is chosen once, from the possibilities left by that
+ * feedback, and the group is then split up by the feedback each of its secrets gives for the guess. Since the strategy
+ * is deterministic and each group's possibilities are exactly those an individual game would have, every secret takes
+ * the same guesses as it would in a game of its own. Unlike a DecisionTree, only the branches some secret reaches are
+ * visited, and nothing is kept once a group is solved
+ */
+public final class BatchSolver {
+
+    /**
+     * Private constructor, only static helpers are provided
+     */
+    private BatchSolver() {
+    }
+
+    /**
+     * Plays a game for each secret with a solver's strategy
+     *
+     * @param solver    The solver whose strategy to play, which must not be in use elsewhere while playing
+     * @param secrets   The packed codes of the secrets, in any order
+     * @return          The number of guesses taken to find each secret, in the same order as the secrets
+     */
+    public static int[] solve(Solver solver, CodeSet secrets) {
+        CodeSpace space = solver.getCodeSpace();
+        int[] group = new int[secrets.size()];
+        for (int i = 0; i < group.length; ++i) {
+            if (!space.contains(secrets.get(i))) {
+                throw new IllegalArgumentException("Invalid packed code for secret: " + secrets.get(i));
+            }
+            group[i] = i;
+        }
+
+        Walker walker = new Walker(solver, secrets);
+        if (group.length > 0) {
+            walker.play(null, group, 0);
+        }
+        return walker.counts;
+    }
+
+    /**
+     * Walks groups of secrets down the strategy one at a time, depth first
+     */
+    private static class Walker {
+        /**
+         * The solver whose strategy is being played
+         */
+        private final Solver solver;
+        /**
+         * The feedback used to split the groups up
+         */
+        private final Feedback feedback;
+        /**
+         * The secrets being played
+         */
+        private final CodeSet secrets;
+        /**
+         * The number of guesses taken to find each secret so far, by position in the secrets
+         */
+        private final int[] counts;
+        /**
+         * The guesses on the path from the first guess to the group being played
+         */
+        private int[] path;
+
+        /**
+         * Constructor
+         *
+         * @param solver    The solver whose strategy is being played
+         * @param secrets   The secrets being played
+         */
+        private Walker(Solver solver, CodeSet secrets) {
+            this.solver = solver;
+            this.secrets = secrets;
+            feedback = solver.getFeedback();
+            counts = new int[secrets.size()];
+            path = new int[16];
+        }
+
+        /**
+         * Plays a group of secrets which have all had the same feedback so far until every one is found
+         *
+         * @param possibilities     The codes which could still be the solution, or null before the first guess
+         * @param group             The positions in the secrets of the group's secrets
+         * @param depth             The number of guesses made so far
+         */
+        private void play(CodeSet possibilities, int[] group, int depth) {
+            // the opening guess doesn't depend on the possibilities, so the whole code space never needs storing
+            int guess = depth == 0 ? solver.getFirstGuess() : solver.chooseGuess(possibilities, path, depth);
+
+            // score the guess against each secret in the group, counting how many give each outcome
+            int outcomes = feedback.outcomes();
+            int[] outcomeOf = new int[group.length];
+            int[] sizes = new int[outcomes];
+            for (int k = 0; k < group.length; ++k) {
+                int secret = secrets.get(group[k]);
+                if (secret == guess) {
+                    counts[group[k]] = depth + 1;
+                    outcomeOf[k] = -1;
+                }
+                else {
+                    outcomeOf[k] = feedback.outcome(guess, secret);
+                    ++sizes[outcomeOf[k]];
+                }
+            }
+
+            // split up the possibilities, keeping only the parts that some secret in the group ends up in
+            CodeSet[] partitions = new CodeSet[outcomes];
+            int[][] children = new int[outcomes][];
+            for (int outcome = 0; outcome < outcomes; ++outcome) {
+                if (sizes[outcome] > 0) {
+                    partitions[outcome] = new CodeSet(16);
+                    children[outcome] = new int[sizes[outcome]];
+                }
+            }
+            if (possibilities == null) {
+                solver.getCodeSpace().codes().forEach(code -> addToPartition(partitions, guess, code));
+            }
+            else {
+                for (int i = 0; i < possibilities.size(); ++i) {
+                    addToPartition(partitions, guess, possibilities.get(i));
+                }
+            }
+            Arrays.fill(sizes, 0);
+            for (int k = 0; k < group.length; ++k) {
+                if (outcomeOf[k] >= 0) {
+                    children[outcomeOf[k]][sizes[outcomeOf[k]]++] = group[k];
+                }
+            }
+
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+            }
+            path[depth] = guess;
+            for (int outcome = 0; outcome < outcomes; ++outcome) {
+                if (children[outcome] != null) {
+                    CodeSet partition = partitions[outcome];
+                    // let go of the partition before going deeper, so only the current path's sets are kept
+                    partitions[outcome] = null;
+                    play(partition, children[outcome], depth + 1);
+                }
+            }
+        }
+
+        /**
+         * Adds a code to the part of the possibilities for the feedback it gives for a guess, if that part is kept
+         *
+         * @param partitions    The parts of the possibilities by outcome, null for those not kept
+         * @param guess         The packed guess
+         * @param code          The packed code
+         */
+        private void addToPartition(CodeSet[] partitions, int guess, int code) {
+            CodeSet partition = partitions[feedback.outcome(guess, code)];
+            if (partition != null) {
+                partition.add(code);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * A limit on how long to spend searching for a guess, as a deadline, a number of guesses to rate, or both
+ *
+ * A search with a budget rates the most promising guesses first and returns the best one it has found once the budget
+ * runs out (see PartitionSearch), so that a guess can always be made in a bounded time
+ */
+public final class Budget {
+    /**
+     * No limit, so every guess is rated
+     */
+    public static final Budget UNLIMITED = new Budget(0, Integer.MAX_VALUE, false);
+
+    /**
+     * The time from System.nanoTime() at which the search has to stop
+     */
+    private final long deadline;
+    /**
+     * The most guesses to rate
+     */
+    private final int evaluations;
+    /**
+     * Whether there is a deadline
+     */
+    private final boolean timed;
+
+    /**
+     * Constructor
+     *
+     * @param deadline      The time from System.nanoTime() at which the search has to stop
+     * @param evaluations   The most guesses to rate
+     * @param timed         Whether there is a deadline
+     */
+    private Budget(long deadline, int evaluations, boolean timed) {
+        if (evaluations < 1) {
+            throw new IllegalArgumentException("Budget must allow at least one evaluation.");
+        }
+        this.deadline = deadline;
+        this.evaluations = evaluations;
+        this.timed = timed;
+    }
+
+    /**
+     * Creates a budget which runs out a number of milliseconds from now
+     *
+     * @param millis    The time allowed in milliseconds
+     * @return          The budget
+     */
+    public static Budget millis(long millis) {
+        return new Budget(System.nanoTime() + millis * 1_000_000, Integer.MAX_VALUE, true);
+    }
+
+    /**
+     * Creates a budget which runs out after rating a number of guesses
+     *
+     * @param evaluations   The most guesses to rate
+     * @return              The budget
+     */
+    public static Budget evaluations(int evaluations) {
+        return new Budget(0, evaluations, false);
+    }
+
+    /**
+     * Checks whether this budget never runs out
+     *
+     * @return  True if there is no limit, false otherwise
+     */
+    public boolean isUnlimited() {
+        return !timed && evaluations == Integer.MAX_VALUE;
+    }
+
+    /**
+     * Checks whether the budget has run out
+     *
+     * @param evaluated     The number of guesses rated so far
+     * @return              True if no more guesses should be rated, false otherwise
+     */
+    public boolean isExhausted(int evaluated) {
+        return evaluated >= evaluations || (timed && System.nanoTime() - deadline >= 0);
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * The codes which could still be the solution in a game, narrowed down by the feedback for each guess
+ *
+ * Nothing is stored until the first feedback arrives, so a game that hasn't started costs next to nothing. Small boards
+ * then keep the candidates as a bitset as well as a list, so that filtering is an AND with a mask from OutcomeMasks. On
+ * larger boards the code space is walked through once and only the survivors are kept, then filtered in place after
+ * each guess, so memory grows with the number of codes that are still consistent rather than with the whole space
+ */
+public class Candidates {
+    /**
+     * The most codes a board can have for its candidates to be kept as a bitset too
+     */
+    public static final int DENSE_LIMIT = 1 << 22;
+
+    /**
+     * Every possible code
+     */
+    private final CodeSpace space;
+    /**
+     * The feedback used to filter the candidates
+     */
+    private final Feedback feedback;
+    /**
+     * The codes consistent with each guess and feedback, or null if the board is too large for bitsets
+     */
+    private final OutcomeMasks masks;
+    /**
+     * The bitset of the candidates, or null if the board is too large for bitsets or there has been no feedback yet
+     */
+    private CodeBits bits;
+    /**
+     * The candidates in ascending order, only filled in once something has been ruled out or they are asked for
+     */
+    private final CodeSet codes;
+    /**
+     * Whether nothing has been ruled out yet, in which case bits hasn't been set up for this game
+     */
+    private boolean whole;
+    /**
+     * Whether codes holds the candidates
+     */
+    private boolean filled;
+
+    /**
+     * Constructor
+     *
+     * @param space     Every possible code
+     * @param feedback  The feedback used to filter the candidates
+     */
+    public Candidates(CodeSpace space, Feedback feedback) {
+        this.space = space;
+        this.feedback = feedback;
+        masks = space.size() <= DENSE_LIMIT ? OutcomeMasks.forBoard(space.getHoles(), space.getColours()) : null;
+        codes = new CodeSet(64);
+        whole = true;
+    }
+
+    /**
+     * Keeps only the candidates which would have given a particular feedback for a guess
+     *
+     * @param guess     The packed guess
+     * @param outcome   The outcome index of the feedback for the guess
+     */
+    public void retain(int guess, int outcome) {
+        if (masks != null) {
+            // the first feedback leaves exactly the codes in its mask, then each one after is a word-wise AND
+            if (whole) {
+                if (bits == null) {
+                    bits = new CodeBits(space.size());
+                }
+                bits.copyFrom(masks.mask(guess, outcome));
+            }
+            else {
+                bits.retainAll(masks.mask(guess, outcome));
+            }
+            bits.copyTo(codes);
+        }
+        else {
+            // every candidate is scored against the guess, whereas the masks were scored when they were built
+            if (SolverMetrics.ENABLED) {
+                SolverMetrics.scored(size());
+            }
+            if (filled) {
+                codes.retainIf(code -> feedback.outcome(guess, code) == outcome);
+            }
+            else {
+                // only the survivors of the first filter are ever stored
+                space.filter(code -> feedback.outcome(guess, code) == outcome, codes);
+            }
+        }
+        whole = false;
+        filled = true;
+    }
+
+    /**
+     * Puts every code back as a candidate, ready for a new game
+     */
+    public void reset() {
+        // keep the arrays to reuse in the next game
+        codes.clear();
+        whole = true;
+        filled = false;
+    }
+
+    /**
+     * Returns the candidates as a set of packed codes in ascending order
+     *
+     * On large boards this stores the whole space if nothing has been ruled out yet, which is best avoided
+     *
+     * @return  The candidates, which must not be modified
+     */
+    public CodeSet codes() {
+        if (!filled) {
+            // the bitset is still left alone, so the first feedback starts it from its mask
+            space.filter(code -> true, codes);
+            filled = true;
+        }
+        return codes;
+    }
+
+    /**
+     * Getter for the number of candidates
+     *
+     * @return  The number of codes which could still be the solution
+     */
+    public int size() {
+        return whole ? space.size() : codes.size();
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * A set of packed codes stored as a bitset, with bit n set if code n is in the set
+ *
+ * Filtering by a mask is a word-wise AND and counting is a popcount, so sets over the whole code space can be narrowed
+ * down and measured without looking at each code
+ */
+public class CodeBits {
+    /**
+     * The bits of the set, with bit n of word n / 64 set if code n is in the set
+     */
+    private final long[] words;
+    /**
+     * The number of codes in the set
+     */
+    private int size;
+
+    /**
+     * Constructor for an empty set
+     *
+     * @param count     The number of codes that could be in the set
+     */
+    public CodeBits(int count) {
+        words = new long[words(count)];
+        size = 0;
+    }
+
+    /**
+     * Creates a set containing every code from 0 up to (but not including) count
+     *
+     * @param count     The number of codes
+     * @return          The set of all codes
+     */
+    public static CodeBits range(int count) {
+        CodeBits bits = new CodeBits(count);
+        for (int code = 0; code < count; ++code) {
+            bits.words[code >>> 6] |= 1L << code;
+        }
+        bits.size = count;
+        return bits;
+    }
+
+    /**
+     * Returns the number of words needed for a bitset of codes
+     *
+     * @param count     The number of codes
+     * @return          The number of longs
+     */
+    public static int words(int count) {
+        return (count + 63) >>> 6;
+    }
+
+    /**
+     * Checks whether a code is in the set
+     *
+     * @param code  The packed code
+     * @return      True if the code is in the set, false otherwise
+     */
+    public boolean contains(int code) {
+        return (words[code >>> 6] & (1L << code)) != 0;
+    }
+
+    /**
+     * Replaces the contents of this set with those of another of the same length
+     *
+     * @param other     The set to copy
+     */
+    public void copyFrom(CodeBits other) {
+        System.arraycopy(other.words, 0, words, 0, words.length);
+        size = other.size;
+    }
+
+    /**
+     * Replaces the contents of this set with the codes in a mask
+     *
+     * @param mask  The bits of the codes, the same length as this set
+     */
+    public void copyFrom(long[] mask) {
+        System.arraycopy(mask, 0, words, 0, words.length);
+        int count = 0;
+        for (long word : mask) {
+            count += Long.bitCount(word);
+        }
+        size = count;
+    }
+
+    /**
+     * Keeps only the codes that are also in a mask
+     *
+     * @param mask  The bits of the codes to keep, the same length as this set
+     * @return      The number of codes removed
+     */
+    public int retainAll(long[] mask) {
+        int kept = 0;
+        for (int i = 0; i < words.length; ++i) {
+            words[i] &= mask[i];
+            kept += Long.bitCount(words[i]);
+        }
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    /**
+     * Counts the codes that are in both this set and a mask, without changing the set
+     *
+     * @param mask  The bits of the codes to count, the same length as this set
+     * @return      The number of codes in both
+     */
+    public int countCommon(long[] mask) {
+        int count = 0;
+        for (int i = 0; i < words.length; ++i) {
+            count += Long.bitCount(words[i] & mask[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Replaces the contents of a CodeSet with the codes in this set, in ascending order
+     *
+     * @param into  The set to fill
+     */
+    public void copyTo(CodeSet into) {
+        into.clear();
+        for (int i = 0; i < words.length; ++i) {
+            long word = words[i];
+            // visit each set bit from lowest to highest
+            while (word != 0) {
+                into.add((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * Getter for the number of codes in the set
+     *
+     * @return  The number of codes
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,145 @@
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * A collection of packed codes backed by a primitive array
+ *
+ * Codes keep the order they were added in and are expected to be unique, which holds for every set built from the
+ * full range of codes and then filtered down
+ */
+public class CodeSet {
+    /**
+     * The codes in the set, only the first size entries are valid
+     */
+    private int[] codes;
+    /**
+     * The number of codes in the set
+     */
+    private int size;
+
+    /**
+     * Constructor for an empty set
+     *
+     * @param capacity  The number of codes to make room for initially
+     */
+    public CodeSet(int capacity) {
+        codes = new int[Math.max(capacity, 1)];
+        size = 0;
+    }
+
+    /**
+     * Copy constructor
+     *
+     * @param other     The set to copy
+     */
+    public CodeSet(CodeSet other) {
+        codes = Arrays.copyOf(other.codes, Math.max(other.size, 1));
+        size = other.size;
+    }
+
+    /**
+     * Creates a set containing every code from 0 up to (but not including) count
+     *
+     * @param count     The number of codes
+     * @return          The set of all codes
+     */
+    public static CodeSet range(int count) {
+        CodeSet set = new CodeSet(count);
+        for (int i = 0; i < count; ++i) {
+            set.codes[i] = i;
+        }
+        set.size = count;
+        return set;
+    }
+
+    /**
+     * Adds a code to the end of the set
+     *
+     * @param code  The packed code
+     */
+    public void add(int code) {
+        // grow the backing array if there is no more room
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, codes.length * 2);
+        }
+        codes[size++] = code;
+    }
+
+    /**
+     * Returns the code at a given position
+     *
+     * @param index     The position in the set
+     * @return          The packed code
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return codes[index];
+    }
+
+    /**
+     * Getter for the number of codes
+     *
+     * @return  The number of codes in the set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the set has no codes left
+     *
+     * @return  True if the set is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every code from the set, keeping the backing array
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Replaces the contents of this set with those of another, reusing the backing array where possible
+     *
+     * @param other     The set to copy
+     */
+    public void copyFrom(CodeSet other) {
+        if (codes.length < other.size) {
+            codes = new int[other.size];
+        }
+        System.arraycopy(other.codes, 0, codes, 0, other.size);
+        size = other.size;
+    }
+
+    /**
+     * Keeps only the codes that match a predicate, compacting the array in place and preserving order
+     *
+     * @param predicate     The test a code must pass to stay in the set
+     * @return              The number of codes removed
+     */
+    public int retainIf(IntPredicate predicate) {
+        int kept = 0;
+        for (int i = 0; i < size; ++i) {
+            if (predicate.test(codes[i])) {
+                codes[kept++] = codes[i];
+            }
+        }
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    /**
+     * Gives direct access to the backing array for tight loops, only the first size() entries are valid
+     *
+     * @return  The backing array
+     */
+    public int[] array() {
+        return codes;
+    }
+}
@@ -0,0 +1,137 @@
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Every possible code for a number of holes and colours, enumerated on demand rather than stored
+ *
+ * Codes are numbered in lexicographic order of their digits, with the first hole most significant, so the rank of a
+ * code is its packed form (see Codes) and the space is just the range from 0 up to colours^holes. Nothing is stored
+ * per code, so even spaces with hundreds of millions of codes can be walked through and filtered
+ */
+public class CodeSpace {
+    /**
+     * The number of holes
+     */
+    private final int holes;
+    /**
+     * The number of colours
+     */
+    private final int colours;
+    /**
+     * The number of codes
+     */
+    private final int size;
+
+    /**
+     * Constructor
+     *
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     */
+    public CodeSpace(int holes, int colours) {
+        this.holes = holes;
+        this.colours = colours;
+        size = Codes.count(holes, colours);
+    }
+
+    /**
+     * Returns the rank of a code, i.e. its position in the space
+     *
+     * @param digits    The colour in each hole
+     * @return          The rank, which is also the packed code
+     */
+    public int rank(int[] digits) {
+        if (digits.length != holes) {
+            throw new IllegalArgumentException("Code has " + digits.length + " holes rather than " + holes + ".");
+        }
+        for (int digit : digits) {
+            if (digit < 0 || digit >= colours) {
+                throw new IllegalArgumentException("Invalid colour " + digit + " in code.");
+            }
+        }
+        return Codes.pack(digits, colours);
+    }
+
+    /**
+     * Returns the code at a position in the space
+     *
+     * @param rank  The position, which is also the packed code
+     * @return      The colour in each hole
+     */
+    public int[] unrank(int rank) {
+        if (!contains(rank)) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " out of bounds for size " + size);
+        }
+        return Codes.unpack(rank, holes, colours);
+    }
+
+    /**
+     * Checks whether a packed code is in the space
+     *
+     * @param code  The packed code
+     * @return      True if it is a valid code, false otherwise
+     */
+    public boolean contains(int code) {
+        return code >= 0 && code < size;
+    }
+
+    /**
+     * Gives every code in the space in order, without storing them
+     *
+     * @return  A stream of packed codes
+     */
+    public IntStream codes() {
+        return IntStream.range(0, size);
+    }
+
+    /**
+     * Walks through the whole space and keeps only the codes that match a predicate, so that only they are stored
+     *
+     * @param predicate     The test a code must pass to be kept
+     * @param into          The set to put the matching codes in, in ascending order, replacing its contents
+     */
+    public void filter(IntPredicate predicate, CodeSet into) {
+        into.clear();
+        for (int code = 0; code < size; ++code) {
+            if (predicate.test(code)) {
+                into.add(code);
+            }
+        }
+    }
+
+    /**
+     * Stores every code in the space, which should only be done when the space is small
+     *
+     * @return  The set of all codes
+     */
+    public CodeSet toCodeSet() {
+        return CodeSet.range(size);
+    }
+
+    /**
+     * Getter for the number of codes
+     *
+     * @return  The number of codes in the space
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Getter for the number of holes
+     *
+     * @return  The number of holes
+     */
+    public int getHoles() {
+        return holes;
+    }
+
+    /**
+     * Getter for the number of colours
+     *
+     * @return  The number of colours
+     */
+    public int getColours() {
+        return colours;
+    }
+}
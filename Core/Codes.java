@@ -0,0 +1,77 @@
+/**
+ * Helper methods for packing a combination of colours into a single integer
+ *
+ * A combination is stored as a base-colours number with the first hole as the most significant digit, so the packed
+ * codes 0 to colours^holes - 1 enumerate the combinations in the same order as counting through them
+ */
+public final class Codes {
+
+    /**
+     * Private constructor, only static helpers are provided
+     */
+    private Codes() {
+    }
+
+    /**
+     * Returns the number of possible combinations of colours in holes, i.e. colours to the power of holes
+     *
+     * @param holes     The number of holes to arrange the colours in
+     * @param colours   The number of colours available for selection
+     * @return          The number of possible combinations
+     */
+    public static int count(int holes, int colours) {
+        long count = 1;
+        for (int i = 0; i < holes; ++i) {
+            count *= colours;
+            // a packed code has to fit into an int
+            if (count > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many combinations for " + holes + " holes and " + colours + " colours.");
+            }
+        }
+        return (int) count;
+    }
+
+    /**
+     * Packs a combination into a single integer
+     *
+     * @param combination   The colour in each hole
+     * @param colours       The number of colours available for selection
+     * @return              The packed code
+     */
+    public static int pack(int[] combination, int colours) {
+        int code = 0;
+        for (int colour : combination) {
+            code = code * colours + colour;
+        }
+        return code;
+    }
+
+    /**
+     * Unpacks a code into a newly allocated combination
+     *
+     * @param code      The packed code
+     * @param holes     The number of holes
+     * @param colours   The number of colours available for selection
+     * @return          The colour in each hole
+     */
+    public static int[] unpack(int code, int holes, int colours) {
+        int[] combination = new int[holes];
+        unpack(code, colours, combination);
+        return combination;
+    }
+
+    /**
+     * Unpacks a code into an existing array, the length of which gives the number of holes
+     *
+     * @param code          The packed code
+     * @param colours       The number of colours available for selection
+     * @param combination   The array to write the colour of each hole into
+     */
+    public static void unpack(int code, int colours, int[] combination) {
+        // the last hole is the least significant digit
+        for (int i = combination.length - 1; i >= 0; --i) {
+            combination[i] = code % colours;
+            code /= colours;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * The ways of rating a guess from the partition histogram it splits the remaining possibilities into, lower is better
+ */
+public enum Criterion {
+    /**
+     * The size of the largest partition, i.e. the most possibilities that could be left (Knuth's minimax)
+     */
+    WORST_CASE,
+    /**
+     * The sum of the squares of the partition sizes, proportional to the expected number of possibilities left
+     */
+    EXPECTED_SIZE,
+    /**
+     * The sum of n log n over the partition sizes, which is lowest when the entropy of the feedback is highest
+     */
+    ENTROPY,
+    /**
+     * Minus the number of non-empty partitions, so the guess with the most distinct outcomes is chosen
+     */
+    MOST_PARTS;
+
+    /**
+     * The fixed-point scale used to store the entropy weights as whole numbers
+     */
+    private static final double ENTROPY_SCALE = 1 << 20;
+
+    /**
+     * Computes how much a partition of each size adds to the rating of a guess, for every criterion but WORST_CASE
+     *
+     * @param size  The largest partition size needed
+     * @return      The weight of a partition of each size from 0 to size
+     */
+    long[] weights(int size) {
+        long[] weights = new long[size + 1];
+        for (int n = 1; n <= size; ++n) {
+            switch (this) {
+                case EXPECTED_SIZE:
+                    weights[n] = (long) n * n;
+                    break;
+                case ENTROPY:
+                    weights[n] = Math.round(n * Math.log(n) * ENTROPY_SCALE);
+                    break;
+                case MOST_PARTS:
+                    // every partition that isn't empty takes one off the rating
+                    weights[n] = -1;
+                    break;
+                default:
+                    weights[n] = n;
+                    break;
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Checks whether a rating can only go up as more solutions are counted, so counting can stop once it is too high
+     *
+     * @return  True if the rating never decreases while counting, false otherwise
+     */
+    boolean isMonotone() {
+        return this != MOST_PARTS;
+    }
+}
@@ -0,0 +1,456 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * A deterministic strategy compiled into a tree of guesses
+ *
+ * Since a deterministic strategy always makes the same guess from the same position, a whole game is a walk down a
+ * fixed tree: the root holds the first guess and each node has one child per feedback that the guess could get. The
+ * tree is stored as flat arrays, with the child of each node for each outcome index in a table of nodes x outcomes
+ */
+public class DecisionTree {
+    /**
+     * Marks an outcome which cannot happen from a node
+     */
+    public static final int NONE = -1;
+    /**
+     * Marks the outcome of a node which means the game has been won
+     */
+    public static final int SOLVED = -2;
+    /**
+     * Marker at the start of every tree file, "MMDT"
+     */
+    private static final int MAGIC = 0x4D4D4454;
+    /**
+     * The most outcomes a tree file can hold, since each outcome index and the number of outcomes of each node are
+     * written as a single byte
+     */
+    private static final int MAX_OUTCOMES = 255;
+    /**
+     * The fewest bytes a node takes up in a tree file, its guess and its number of outcomes
+     */
+    private static final int MIN_NODE_BYTES = 5;
+
+    /**
+     * The number of holes
+     */
+    private final int holes;
+    /**
+     * The number of colours
+     */
+    private final int colours;
+    /**
+     * The strategy the tree was compiled from
+     */
+    private final Strategy strategy;
+    /**
+     * Whether the strategy chose guesses from every code
+     */
+    private final boolean fullSearch;
+    /**
+     * The number of outcome indices, i.e. the width of a row of the child table
+     */
+    private final int outcomes;
+    /**
+     * The packed guess at each node
+     */
+    private final int[] guesses;
+    /**
+     * The child of each node for each outcome index, NONE or SOLVED
+     */
+    private final int[] children;
+
+    /**
+     * Constructor
+     *
+     * @param holes         The number of holes
+     * @param colours       The number of colours
+     * @param strategy      The strategy the tree was compiled from
+     * @param fullSearch    Whether the strategy chose guesses from every code
+     * @param outcomes      The number of outcome indices
+     * @param guesses       The packed guess at each node
+     * @param children      The child of each node for each outcome index
+     */
+    private DecisionTree(int holes, int colours, Strategy strategy, boolean fullSearch, int outcomes, int[] guesses, int[] children) {
+        this.holes = holes;
+        this.colours = colours;
+        this.strategy = strategy;
+        this.fullSearch = fullSearch;
+        this.outcomes = outcomes;
+        this.guesses = guesses;
+        this.children = children;
+    }
+
+    /**
+     * Compiles the tree for a solver's strategy by playing out every possible game at once
+     *
+     * @param solver    The solver whose strategy to compile, which must not be in use elsewhere while building
+     * @return          The decision tree
+     */
+    public static DecisionTree build(Solver solver) {
+        Feedback feedback = solver.getFeedback();
+        int outcomes = feedback.outcomes();
+
+        Builder builder = new Builder(solver, feedback, outcomes);
+        builder.add(solver.getCodeSpace().toCodeSet(), 0);
+
+        return new DecisionTree(solver.getHoles(), solver.getColours(), solver.getStrategy(), solver.isFullSearch(),
+                outcomes, Arrays.copyOf(builder.guesses, builder.nodes), Arrays.copyOf(builder.children, builder.nodes * outcomes));
+    }
+
+    /**
+     * Builds the nodes of a tree one at a time, depth first
+     */
+    private static class Builder {
+        /**
+         * The solver whose strategy is being compiled
+         */
+        private final Solver solver;
+        /**
+         * The feedback used to split the possibilities up
+         */
+        private final Feedback feedback;
+        /**
+         * The number of outcome indices
+         */
+        private final int outcomes;
+        /**
+         * The packed guess at each node so far
+         */
+        private int[] guesses;
+        /**
+         * The child table so far
+         */
+        private int[] children;
+        /**
+         * The number of nodes so far
+         */
+        private int nodes;
+        /**
+         * The guesses on the path from the root to the node being added
+         */
+        private int[] path;
+
+        /**
+         * Constructor
+         *
+         * @param solver    The solver whose strategy is being compiled
+         * @param feedback  The feedback used to split the possibilities up
+         * @param outcomes  The number of outcome indices
+         */
+        private Builder(Solver solver, Feedback feedback, int outcomes) {
+            this.solver = solver;
+            this.feedback = feedback;
+            this.outcomes = outcomes;
+            guesses = new int[64];
+            children = new int[64 * outcomes];
+            path = new int[16];
+        }
+
+        /**
+         * Adds the node for a set of remaining possibilities and everything below it
+         *
+         * @param possibilities     The codes which could still be the solution
+         * @param depth             The number of guesses made before this node
+         * @return                  The index of the new node
+         */
+        private int add(CodeSet possibilities, int depth) {
+            int guess = solver.chooseGuess(possibilities, path, depth);
+            int node = nodes++;
+            if (node == guesses.length) {
+                guesses = Arrays.copyOf(guesses, guesses.length * 2);
+                children = Arrays.copyOf(children, children.length * 2);
+            }
+            guesses[node] = guess;
+            Arrays.fill(children, node * outcomes, (node + 1) * outcomes, NONE);
+
+            // split the possibilities up by the feedback they would give for this guess
+            CodeSet[] partitions = new CodeSet[outcomes];
+            for (int i = 0; i < possibilities.size(); ++i) {
+                int code = possibilities.get(i);
+                if (code == guess) {
+                    children[node * outcomes + feedback.outcome(guess, code)] = SOLVED;
+                    continue;
+                }
+                int outcome = feedback.outcome(guess, code);
+                if (partitions[outcome] == null) {
+                    partitions[outcome] = new CodeSet(16);
+                }
+                partitions[outcome].add(code);
+            }
+
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+            }
+            path[depth] = guess;
+            for (int outcome = 0; outcome < outcomes; ++outcome) {
+                if (partitions[outcome] != null) {
+                    int child = add(partitions[outcome], depth + 1);
+                    children[node * outcomes + outcome] = child;
+                }
+            }
+            return node;
+        }
+    }
+
+    /**
+     * Loads the tree for a strategy from the cache directory, compiling and saving it first if necessary
+     *
+     * @param holes         The number of holes
+     * @param colours       The number of colours
+     * @param strategy      The strategy to compile
+     * @param fullSearch    Whether the strategy chooses guesses from every code
+     * @return              The decision tree
+     */
+    public static DecisionTree loadOrBuild(int holes, int colours, Strategy strategy, boolean fullSearch) {
+        Path file = FeedbackTable.cacheDirectory().resolve(
+                "tree-" + strategy + (fullSearch ? "-full-" : "-") + holes + "x" + colours + ".bin");
+        try {
+            if (Files.isRegularFile(file)) {
+                DecisionTree tree = load(file);
+                if (tree.holes == holes && tree.colours == colours && tree.strategy == strategy && tree.fullSearch == fullSearch
+                        && tree.outcomes == FeedbackTable.outcomes(holes)) {
+                    return tree;
+                }
+            }
+        }
+        catch (IOException e) {
+            // the file is unreadable, corrupt or from an older format, so just build it again
+            System.err.println(e.toString());
+        }
+
+        DecisionTree tree = build(new Solver(holes, colours, strategy, 1, fullSearch));
+        try {
+            Files.createDirectories(file.getParent());
+            tree.save(file);
+        }
+        catch (IOException e) {
+            System.err.println(e.toString());
+        }
+        return tree;
+    }
+
+    /**
+     * Writes the tree to a binary file, going through a temporary file so that a partly written tree is never read
+     *
+     * @param file  The file to write to
+     * @throws IOException  If the file cannot be written, or the board has too many outcomes to store
+     */
+    public void save(Path file) throws IOException {
+        if (outcomes > MAX_OUTCOMES) {
+            throw new IOException("Decision trees with more than " + MAX_OUTCOMES + " outcomes can't be saved.");
+        }
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(holes);
+            out.writeInt(colours);
+            out.writeUTF(strategy.name());
+            out.writeBoolean(fullSearch);
+            out.writeInt(outcomes);
+            out.writeInt(guesses.length);
+            for (int guess : guesses) {
+                out.writeInt(guess);
+            }
+            // most of the child table is NONE, so only write the outcomes that lead somewhere
+            for (int node = 0; node < guesses.length; ++node) {
+                int count = 0;
+                for (int outcome = 0; outcome < outcomes; ++outcome) {
+                    if (children[node * outcomes + outcome] != NONE) {
+                        ++count;
+                    }
+                }
+                out.writeByte(count);
+                for (int outcome = 0; outcome < outcomes; ++outcome) {
+                    if (children[node * outcomes + outcome] != NONE) {
+                        out.writeByte(outcome);
+                        out.writeInt(children[node * outcomes + outcome]);
+                    }
+                }
+            }
+        }
+        catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Reads a tree from a binary file written by save()
+     *
+     * @param file  The file to read from
+     * @return      The decision tree
+     * @throws IOException  If the file cannot be read, is not a tree file or is corrupt
+     */
+    public static DecisionTree load(Path file) throws IOException {
+        long length = Files.size(file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a decision tree file: " + file);
+            }
+            int holes = in.readInt();
+            int colours = in.readInt();
+            Strategy strategy;
+            try {
+                strategy = Strategy.valueOf(in.readUTF());
+            }
+            catch (IllegalArgumentException e) {
+                throw new IOException("Unknown strategy in decision tree file: " + file, e);
+            }
+            boolean fullSearch = in.readBoolean();
+            int outcomes = in.readInt();
+            int nodes = in.readInt();
+
+            // check everything sizes an array or indexes one before using it, so a corrupt file can't crash the reader
+            if (holes < 1 || colours < 1 || outcomes > MAX_OUTCOMES || outcomes != FeedbackTable.outcomes(holes)) {
+                throw new IOException("Invalid board in decision tree file: " + file);
+            }
+            int codes;
+            try {
+                codes = Codes.count(holes, colours);
+            }
+            catch (IllegalArgumentException e) {
+                throw new IOException("Invalid board in decision tree file: " + file, e);
+            }
+            if (nodes < 1 || nodes > length / MIN_NODE_BYTES || (long) nodes * outcomes > Integer.MAX_VALUE) {
+                throw new IOException("Invalid number of nodes in decision tree file: " + file);
+            }
+
+            int[] guesses = new int[nodes];
+            for (int node = 0; node < nodes; ++node) {
+                guesses[node] = in.readInt();
+                if (guesses[node] < 0 || guesses[node] >= codes) {
+                    throw new IOException("Invalid guess in decision tree file: " + file);
+                }
+            }
+            int[] children = new int[nodes * outcomes];
+            Arrays.fill(children, NONE);
+            for (int node = 0; node < nodes; ++node) {
+                int count = in.readUnsignedByte();
+                if (count > outcomes) {
+                    throw new IOException("Invalid number of outcomes in decision tree file: " + file);
+                }
+                for (int i = 0; i < count; ++i) {
+                    int outcome = in.readUnsignedByte();
+                    int child = in.readInt();
+                    // nodes are numbered depth first, so every child comes after its parent
+                    if (outcome >= outcomes || (child != SOLVED && (child <= node || child >= nodes))) {
+                        throw new IOException("Invalid child in decision tree file: " + file);
+                    }
+                    children[node * outcomes + outcome] = child;
+                }
+            }
+            return new DecisionTree(holes, colours, strategy, fullSearch, outcomes, guesses, children);
+        }
+    }
+
+    /**
+     * Returns the root of the tree, which holds the first guess
+     *
+     * @return  The index of the root node
+     */
+    public int root() {
+        return 0;
+    }
+
+    /**
+     * Returns the guess to make at a node
+     *
+     * @param node  The index of the node
+     * @return      The packed guess
+     */
+    public int guess(int node) {
+        return guesses[node];
+    }
+
+    /**
+     * Returns the node to move to after the guess at a node gets some feedback
+     *
+     * @param node      The index of the node
+     * @param outcome   The outcome index of the feedback
+     * @return          The index of the child node, SOLVED if the guess was right or NONE if the feedback is impossible
+     */
+    public int next(int node, int outcome) {
+        return children[node * outcomes + outcome];
+    }
+
+    /**
+     * Works out how many guesses it takes to find every possible solution, with a single walk over the tree
+     *
+     * Each node whose guess can be the solution accounts for exactly one solution, found at the depth of the node
+     *
+     * @return  The number of solutions found with each number of guesses, indexed by the number of guesses
+     */
+    public int[] guessCounts() {
+        int[] depths = new int[guesses.length];
+        int[] counts = new int[2];
+        depths[root()] = 1;
+
+        // nodes are numbered depth first, so every parent comes before its children
+        for (int node = 0; node < guesses.length; ++node) {
+            for (int outcome = 0; outcome < outcomes; ++outcome) {
+                int child = children[node * outcomes + outcome];
+                if (child == SOLVED) {
+                    if (depths[node] >= counts.length) {
+                        counts = Arrays.copyOf(counts, depths[node] + 1);
+                    }
+                    ++counts[depths[node]];
+                }
+                else if (child != NONE) {
+                    depths[child] = depths[node] + 1;
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Getter for the number of nodes
+     *
+     * @return  The number of nodes in the tree
+     */
+    public int size() {
+        return guesses.length;
+    }
+
+    /**
+     * Getter for the number of holes
+     *
+     * @return  The number of holes
+     */
+    public int getHoles() {
+        return holes;
+    }
+
+    /**
+     * Getter for the number of colours
+     *
+     * @return  The number of colours
+     */
+    public int getColours() {
+        return colours;
+    }
+
+    /**
+     * Getter for the strategy the tree was compiled from
+     *
+     * @return  The strategy
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+}
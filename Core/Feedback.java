@@ -0,0 +1,76 @@
+/**
+ * The feedback given for a guess against a hidden answer, as a small outcome index (see FeedbackTable.outcomeIndex())
+ */
+public interface Feedback {
+
+    /**
+     * Returns the feedback for a guess against a hidden answer
+     *
+     * @param guess     The packed guess
+     * @param secret    The packed hidden answer
+     * @return          The outcome index of the feedback
+     */
+    int outcome(int guess, int secret);
+
+    /**
+     * Returns the number of outcome indices, i.e. the size of an array that can be indexed by any outcome
+     *
+     * @return  One more than the largest outcome index
+     */
+    int outcomes();
+
+    /**
+     * Prepares to score many guesses against the same set of codes at once, for feedback that is worked out rather than
+     * looked up
+     *
+     * @param codes     The packed codes that guesses will be scored against
+     * @return          The batch scorer, or null if looking up each outcome in turn is as fast
+     */
+    default BatchScorer batch(CodeSet codes) {
+        return null;
+    }
+
+    /**
+     * Gives the best available feedback for a board: a precomputed table if it fits, otherwise direct scoring
+     *
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     * @return          The feedback for the board
+     */
+    static Feedback forBoard(int holes, int colours) {
+        if (FeedbackTable.fits(holes, colours)) {
+            return FeedbackTable.load(holes, colours);
+        }
+        return direct(holes, colours);
+    }
+
+    /**
+     * Gives feedback that scores every pair of codes as it is asked for
+     *
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     * @return          The feedback for the board
+     */
+    static Feedback direct(int holes, int colours) {
+        return new Feedback() {
+            @Override
+            public int outcome(int guess, int secret) {
+                return FeedbackTable.score(guess, secret, holes, colours);
+            }
+
+            @Override
+            public int outcomes() {
+                return FeedbackTable.outcomes(holes);
+            }
+
+            @Override
+            public BatchScorer batch(CodeSet codes) {
+                // batch scoring packs each code into bytes, so boards with too many holes are scored one pair at a time
+                if (holes > Scorer.MAX_HOLES || codes.size() < BatchScorer.MIN_SIZE) {
+                    return null;
+                }
+                return BatchScorer.forCodes(codes, holes, colours);
+            }
+        };
+    }
+}
@@ -0,0 +1,362 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed feedback for every pair of packed codes for a given number of holes and colours
+ *
+ * Each entry is a single byte outcome index (see outcomeIndex()). The table is written to a cache file the first time
+ * a configuration is used and memory-mapped on later runs, so it only ever has to be computed once
+ */
+public class FeedbackTable implements Feedback {
+    /**
+     * The largest number of entries we are willing to build a table for (256MB)
+     */
+    public static final long MAX_ENTRIES = 1L << 28;
+    /**
+     * Marker at the start of every cache file, "MMFT"
+     */
+    private static final int MAGIC = 0x4D4D4654;
+    /**
+     * The version of the cache file format, which changes whenever the outcome indices do
+     */
+    private static final int VERSION = 2;
+    /**
+     * The number of bytes before the first entry: the marker, version, holes and colours
+     */
+    private static final int HEADER_SIZE = 16;
+    /**
+     * The system property which can be used to override the cache directory
+     */
+    private static final String CACHE_PROPERTY = "mastermind.cache";
+    /**
+     * The tables already loaded from the default cache directory, so that every game on a board shares one table
+     */
+    private static final Map<String, FeedbackTable> LOADED = new ConcurrentHashMap<>();
+
+    /**
+     * The number of holes
+     */
+    private final int holes;
+    /**
+     * The number of colours
+     */
+    private final int colours;
+    /**
+     * The number of codes, i.e. the length of one row of the table
+     */
+    private final int size;
+    /**
+     * The entries of the table, row by row with the guess as the row
+     */
+    private final ByteBuffer table;
+
+    /**
+     * Constructor
+     *
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     * @param table     The entries of the table, starting at index 0
+     */
+    private FeedbackTable(int holes, int colours, ByteBuffer table) {
+        this.holes = holes;
+        this.colours = colours;
+        this.size = Codes.count(holes, colours);
+        this.table = table;
+    }
+
+    /**
+     * Checks whether a table can be built for a configuration
+     *
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     * @return          True if the table would be small enough, false otherwise
+     */
+    public static boolean fits(int holes, int colours) {
+        // every outcome index has to fit in an unsigned byte
+        if (outcomes(holes) - 1 > 0xFF) {
+            return false;
+        }
+        long size = 1;
+        for (int i = 0; i < holes; ++i) {
+            size *= colours;
+            if (size * size > MAX_ENTRIES) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Loads the table for a configuration from the default cache directory, building it first if necessary
+     *
+     * The default directory is "mastermind" inside the system temporary directory, and can be overridden with the
+     * mastermind.cache system property. Each table is only loaded once and then shared, which is safe since a table is
+     * never modified after it has been built
+     *
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     * @return          The feedback table
+     */
+    public static FeedbackTable load(int holes, int colours) {
+        return LOADED.computeIfAbsent(holes + "x" + colours, key -> load(holes, colours, cacheDirectory()));
+    }
+
+    /**
+     * Returns the directory that precomputed files are cached in
+     *
+     * @return  The mastermind.cache system property if set, otherwise "mastermind" inside the system temporary directory
+     */
+    static Path cacheDirectory() {
+        String directory = System.getProperty(CACHE_PROPERTY);
+        if (directory == null) {
+            return Paths.get(System.getProperty("java.io.tmpdir"), "mastermind");
+        }
+        return Paths.get(directory);
+    }
+
+    /**
+     * Loads the table for a configuration from a cache directory, building and saving it first if necessary
+     *
+     * If the cache cannot be read or written the table is built in memory instead
+     *
+     * @param holes         The number of holes
+     * @param colours       The number of colours
+     * @param directory     The directory containing the cache files
+     * @return              The feedback table
+     */
+    public static FeedbackTable load(int holes, int colours, Path directory) {
+        if (!fits(holes, colours)) {
+            throw new IllegalArgumentException("Feedback table too large for " + holes + " holes and " + colours + " colours.");
+        }
+
+        Path file = directory.resolve("feedback-" + holes + "x" + colours + ".bin");
+        long entries = (long) Codes.count(holes, colours) * Codes.count(holes, colours);
+
+        try {
+            // build and save the table if there isn't a valid one already
+            if (!isValid(file, holes, colours, entries)) {
+                Files.createDirectories(directory);
+                write(file, holes, colours, compute(holes, colours));
+            }
+            return new FeedbackTable(holes, colours, map(file, entries));
+        }
+        catch (IOException e) {
+            System.err.println(e.toString());
+            return new FeedbackTable(holes, colours, compute(holes, colours));
+        }
+    }
+
+    /**
+     * Checks that a cache file exists and was written for the right configuration
+     *
+     * @param file      The cache file
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     * @param entries   The number of entries the table should have
+     * @return          True if the file can be mapped, false otherwise
+     * @throws IOException  If the file cannot be read
+     */
+    private static boolean isValid(Path file, int holes, int colours, long entries) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != HEADER_SIZE + entries) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is full
+            }
+            header.flip();
+            return header.remaining() == HEADER_SIZE && header.getInt() == MAGIC && header.getInt() == VERSION && header.getInt() == holes && header.getInt() == colours;
+        }
+    }
+
+    /**
+     * Writes a table to a cache file, going through a temporary file so that a partly written table is never mapped
+     *
+     * @param file      The cache file
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     * @param table     The entries of the table
+     * @throws IOException  If the file cannot be written
+     */
+    private static void write(Path file, int holes, int colours, ByteBuffer table) throws IOException {
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(holes).putInt(colours);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            ByteBuffer entries = table.duplicate();
+            entries.rewind();
+            while (entries.hasRemaining()) {
+                channel.write(entries);
+            }
+        }
+        catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Memory-maps the entries of a cache file
+     *
+     * @param file      The cache file
+     * @param entries   The number of entries in the table
+     * @return          A read-only buffer over the entries
+     * @throws IOException  If the file cannot be mapped
+     */
+    private static ByteBuffer map(Path file, long entries) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, entries);
+        }
+    }
+
+    /**
+     * Computes every entry of the table
+     *
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     * @return          A buffer holding the entries row by row
+     */
+    private static ByteBuffer compute(int holes, int colours) {
+        int size = Codes.count(holes, colours);
+        byte[] table = new byte[size * size];
+        for (int guess = 0; guess < size; ++guess) {
+            // the feedback is symmetric, so only score the upper triangle and mirror it
+            for (int secret = guess; secret < size; ++secret) {
+                byte outcome = (byte) score(guess, secret, holes, colours);
+                table[guess * size + secret] = outcome;
+                table[secret * size + guess] = outcome;
+            }
+        }
+        return ByteBuffer.wrap(table);
+    }
+
+    /**
+     * Scores a guess against a secret without using a table
+     *
+     * @param guess     The packed guess
+     * @param secret    The packed hidden answer
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     * @return          The outcome index of the feedback
+     */
+    public static int score(int guess, int secret, int holes, int colours) {
+        int score = Scorer.score(guess, secret, holes, colours);
+        return outcomeIndex(holes, Scorer.blacks(score), Scorer.whites(score));
+    }
+
+    /**
+     * Maps a number of black and white pegs to a single outcome index
+     *
+     * The indices are dense, numbering only the feedback that can actually happen in order of blacks and then whites:
+     * each number of blacks leaves room for fewer whites, and holes - 1 blacks with one white is impossible, so the
+     * solved outcome is the last index. For four holes that is 14 outcomes from 0 (no pegs) to 13 (four blacks)
+     *
+     * @param holes     The number of holes
+     * @param blacks    The number of black pegs
+     * @param whites    The number of white pegs
+     * @return          The outcome index
+     */
+    public static int outcomeIndex(int holes, int blacks, int whites) {
+        // the outcomes with fewer blacks take up blacks * (holes + 1) minus a triangle of impossible whites
+        int index = blacks * (holes + 1) - (blacks * (blacks - 1) >> 1) + whites;
+        return blacks == holes ? index - 1 : index;
+    }
+
+    /**
+     * Returns the number of outcome indices for a number of holes
+     *
+     * @param holes     The number of holes
+     * @return          One more than the largest outcome index
+     */
+    public static int outcomes(int holes) {
+        return (holes + 1) * (holes + 2) / 2 - 1;
+    }
+
+    /**
+     * Returns the number of black pegs for an outcome index
+     *
+     * @param holes     The number of holes
+     * @param outcome   The outcome index
+     * @return          The number of black pegs
+     */
+    public static int blacksOf(int holes, int outcome) {
+        int blacks = 0;
+        while (blacks < holes && outcomeIndex(holes, blacks + 1, 0) <= outcome) {
+            ++blacks;
+        }
+        return blacks;
+    }
+
+    /**
+     * Returns the number of white pegs for an outcome index
+     *
+     * @param holes     The number of holes
+     * @param outcome   The outcome index
+     * @return          The number of white pegs
+     */
+    public static int whitesOf(int holes, int outcome) {
+        return outcome - outcomeIndex(holes, blacksOf(holes, outcome), 0);
+    }
+
+    /**
+     * Looks up the feedback for a guess against a secret
+     *
+     * @param guess     The packed guess
+     * @param secret    The packed hidden answer
+     * @return          The outcome index of the feedback
+     */
+    @Override
+    public int outcome(int guess, int secret) {
+        return table.get(guess * size + secret) & 0xFF;
+    }
+
+    /**
+     * Returns the number of outcome indices
+     *
+     * @return  One more than the largest outcome index
+     */
+    @Override
+    public int outcomes() {
+        return outcomes(holes);
+    }
+
+    /**
+     * Getter for the number of holes
+     *
+     * @return  The number of holes
+     */
+    public int getHoles() {
+        return holes;
+    }
+
+    /**
+     * Getter for the number of colours
+     *
+     * @return  The number of colours
+     */
+    public int getColours() {
+        return colours;
+    }
+}
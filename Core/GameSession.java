@@ -0,0 +1,137 @@
+/**
+ * A single game played by a solver from a SolverFactory, which can be used from any thread
+ *
+ * Each session only holds the state of its own game, with everything else shared through the factory, so thousands
+ * can be kept at once. Every method is synchronized, so a session can be passed between threads, such as those
+ * handling the requests of a server, while different sessions are played at the same time
+ */
+public class GameSession {
+    /**
+     * The solver playing the game
+     */
+    private final Solver solver;
+    /**
+     * Whether the last guess is still waiting for its feedback
+     */
+    private boolean waiting;
+
+    /**
+     * Constructor
+     *
+     * @param solver    The solver to play the game with, which must not be used elsewhere
+     */
+    GameSession(Solver solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Makes the next guess using the strategy
+     *
+     * @return  The packed code of the guess
+     * @throws IllegalStateException    If the last guess hasn't had its feedback or the game has been solved
+     */
+    public synchronized int nextGuess() {
+        checkGuessAllowed();
+        int guess = solver.nextGuess();
+        waiting = true;
+        return guess;
+    }
+
+    /**
+     * Makes the next guess within a budget, settling for the best guess found if the budget runs out
+     *
+     * @param budget    The limit on the time or number of guesses rated
+     * @return          The guess, along with how much of the search was done
+     * @throws IllegalStateException    If the last guess hasn't had its feedback or the game has been solved
+     */
+    public synchronized PartitionSearch.Choice nextGuess(Budget budget) {
+        checkGuessAllowed();
+        PartitionSearch.Choice choice = solver.chooseNextGuess(budget);
+        solver.makeGuess(choice.getGuess());
+        waiting = true;
+        return choice;
+    }
+
+    /**
+     * Gives the feedback for the last guess
+     *
+     * @param blacks    The number of colours in the correct position
+     * @param whites    The number of correct colours in the wrong positions
+     * @throws IllegalStateException    If there is no guess waiting for feedback
+     */
+    public synchronized void submitFeedback(int blacks, int whites) {
+        if (!waiting) {
+            throw new IllegalStateException("No guess is waiting for feedback.");
+        }
+        solver.submitFeedback(blacks, whites);
+        // only cleared once the feedback is accepted, so impossible feedback can be corrected
+        waiting = false;
+    }
+
+    /**
+     * Starts a new game
+     */
+    public synchronized void reset() {
+        solver.reset();
+        waiting = false;
+    }
+
+    /**
+     * Checks that a guess can be made, so that calls made out of turn can't corrupt the game
+     *
+     * @throws IllegalStateException    If the last guess hasn't had its feedback or the game has been solved
+     */
+    private void checkGuessAllowed() {
+        if (waiting) {
+            throw new IllegalStateException("The last guess is still waiting for feedback.");
+        }
+        if (solver.isSolved()) {
+            throw new IllegalStateException("The game has already been solved.");
+        }
+    }
+
+    /**
+     * Checks whether the last guess was the solution
+     *
+     * @return  True if the game has been solved, false otherwise
+     */
+    public synchronized boolean isSolved() {
+        return solver.isSolved();
+    }
+
+    /**
+     * Getter for the number of guesses made so far
+     *
+     * @return  The number of guesses in the current game
+     */
+    public synchronized int getNumGuesses() {
+        return solver.getNumGuesses();
+    }
+
+    /**
+     * Getter for the number of combinations that could still be the solution
+     *
+     * @return  The number of remaining possibilities
+     */
+    public synchronized int getRemainingCount() {
+        return solver.getRemainingCount();
+    }
+
+    /**
+     * Getter for the number of holes
+     *
+     * @return  The number of holes
+     */
+    public int getHoles() {
+        return solver.getHoles();
+    }
+
+    /**
+     * Getter for the number of colours
+     *
+     * @return  The number of colours
+     */
+    public int getColours() {
+        return solver.getColours();
+    }
+}
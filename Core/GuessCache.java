@@ -0,0 +1,197 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the guess chosen for each set of remaining possibilities
+ *
+ * Many different games reach the same set of possibilities, and a deterministic strategy always chooses the same guess
+ * from it, so the choice only needs to be searched for once. Sets are identified by a 128-bit fingerprint made of two
+ * independently mixed sums over their codes, which doesn't depend on the order of the codes. When the cache is full
+ * the least recently used entry is evicted
+ *
+ * A cache can be shared between threads, but only between solvers with the same board, strategy and search settings,
+ * since the guesses it holds are only right for those
+ */
+public class GuessCache {
+    /**
+     * The most entries to hold before evicting
+     */
+    private final int capacity;
+    /**
+     * The cached guesses, in order from least to most recently used
+     */
+    private final LinkedHashMap<Fingerprint, Integer> entries;
+    /**
+     * The number of lookups which found a guess
+     */
+    private long hits;
+    /**
+     * The number of lookups which didn't find a guess
+     */
+    private long misses;
+
+    /**
+     * Constructor
+     *
+     * @param capacity  The most entries to hold before evicting the least recently used
+     */
+    public GuessCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be at least 1.");
+        }
+        this.capacity = capacity;
+        entries = new LinkedHashMap<Fingerprint, Integer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Fingerprint, Integer> eldest) {
+                return size() > GuessCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Computes the fingerprint of a set of possibilities
+     *
+     * @param possibilities     The codes which could still be the solution
+     * @return                  The fingerprint of the set
+     */
+    public static Fingerprint fingerprint(CodeSet possibilities) {
+        int[] codes = possibilities.array();
+        int size = possibilities.size();
+        long high = 0;
+        long low = 0;
+        // summing the mixed codes makes the fingerprint the same whatever order the codes are in
+        for (int i = 0; i < size; ++i) {
+            high += mix(codes[i] ^ 0x9E3779B97F4A7C15L);
+            low += mix(codes[i] + 0xD1B54A32D192ED03L);
+        }
+        return new Fingerprint(high, low, size);
+    }
+
+    /**
+     * Scrambles the bits of a value so that nearby codes give unrelated results (the SplitMix64 finaliser)
+     *
+     * @param value     The value to mix
+     * @return          The mixed value
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Looks up the guess chosen for a set of possibilities
+     *
+     * @param key   The fingerprint of the set
+     * @return      The packed guess, or -1 if it isn't cached
+     */
+    public synchronized int get(Fingerprint key) {
+        Integer guess = entries.get(key);
+        if (guess == null) {
+            ++misses;
+            return -1;
+        }
+        ++hits;
+        return guess;
+    }
+
+    /**
+     * Stores the guess chosen for a set of possibilities
+     *
+     * @param key   The fingerprint of the set
+     * @param guess The packed guess
+     */
+    public synchronized void put(Fingerprint key, int guess) {
+        entries.put(key, guess);
+    }
+
+    /**
+     * Removes every entry and resets the counters
+     */
+    public synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Getter for the number of lookups which found a guess
+     *
+     * @return  The number of hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Getter for the number of lookups which didn't find a guess
+     *
+     * @return  The number of misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Getter for the number of entries held
+     *
+     * @return  The number of cached guesses
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Getter for the most entries held before evicting
+     *
+     * @return  The capacity of the cache
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * The 128-bit fingerprint of a set of codes, along with its size
+     */
+    public static final class Fingerprint {
+        /**
+         * The first half of the fingerprint
+         */
+        private final long high;
+        /**
+         * The second half of the fingerprint
+         */
+        private final long low;
+        /**
+         * The number of codes in the set
+         */
+        private final int size;
+
+        /**
+         * Constructor
+         *
+         * @param high  The first half of the fingerprint
+         * @param low   The second half of the fingerprint
+         * @param size  The number of codes in the set
+         */
+        private Fingerprint(long high, long low, int size) {
+            this.high = high;
+            this.low = low;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Fingerprint)) {
+                return false;
+            }
+            Fingerprint that = (Fingerprint) other;
+            return high == that.high && low == that.low && size == that.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (high ^ (high >>> 32));
+        }
+    }
+}
@@ -0,0 +1,187 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The set of codes consistent with each (guess, outcome) pair, as bitmasks over the whole code space
+ *
+ * A mask is computed the first time its pair is asked for and kept for later, so filtering the remaining possibilities
+ * by the same feedback in another game is a single AND. Masks are kept until they fill a fixed budget of memory, after
+ * which new ones are computed every time they are needed. One set of masks is shared by every game on a board
+ */
+public class OutcomeMasks {
+    /**
+     * The most words of masks to keep for each board (128MB)
+     */
+    private static final long MAX_CACHED_WORDS = 1L << 24;
+    /**
+     * The masks already created for each board
+     */
+    private static final Map<String, OutcomeMasks> LOADED = new ConcurrentHashMap<>();
+
+    /**
+     * The number of codes
+     */
+    private final int count;
+    /**
+     * The feedback used to work out which codes are consistent
+     */
+    private final Feedback feedback;
+    /**
+     * The number of outcome indices
+     */
+    private final int outcomes;
+    /**
+     * The masks computed so far, keyed by guess * outcomes + outcome
+     */
+    private final Map<Long, long[]> masks;
+    /**
+     * The number of words of masks kept so far
+     */
+    private final AtomicLong cachedWords;
+    /**
+     * The batch scorer for every code, created the first time a mask is computed (null if the feedback has none)
+     */
+    private volatile BatchScorer batch;
+    /**
+     * Whether batch has been created yet
+     */
+    private volatile boolean batchReady;
+
+    /**
+     * Constructor
+     *
+     * @param count     The number of codes
+     * @param feedback  The feedback used to work out which codes are consistent
+     */
+    public OutcomeMasks(int count, Feedback feedback) {
+        this.count = count;
+        this.feedback = feedback;
+        outcomes = feedback.outcomes();
+        masks = new ConcurrentHashMap<>();
+        cachedWords = new AtomicLong();
+    }
+
+    /**
+     * Gives the masks shared by every game on a board
+     *
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     * @return          The masks for the board
+     */
+    public static OutcomeMasks forBoard(int holes, int colours) {
+        return LOADED.computeIfAbsent(holes + "x" + colours,
+                key -> new OutcomeMasks(Codes.count(holes, colours), Feedback.forBoard(holes, colours)));
+    }
+
+    /**
+     * Returns the codes which would give a particular outcome for a guess
+     *
+     * @param guess     The packed guess
+     * @param outcome   The outcome index of the feedback
+     * @return          The mask of consistent codes, which must not be modified
+     */
+    public long[] mask(int guess, int outcome) {
+        Long key = (long) guess * outcomes + outcome;
+        long[] mask = masks.get(key);
+        if (mask != null) {
+            return mask;
+        }
+
+        mask = new long[CodeBits.words(count)];
+        byte[] scores = score(guess);
+        for (int code = 0; code < count; ++code) {
+            if ((scores == null ? feedback.outcome(guess, code) : scores[code] & 0xFF) == outcome) {
+                mask[code >>> 6] |= 1L << code;
+            }
+        }
+        return keep(key, mask);
+    }
+
+    /**
+     * Keeps a newly computed mask if there is room
+     *
+     * @param key   The key of the mask
+     * @param mask  The mask
+     * @return      The mask to use, which is another thread's if it got there first
+     */
+    private long[] keep(Long key, long[] mask) {
+        if (cachedWords.get() + mask.length <= MAX_CACHED_WORDS) {
+            long[] existing = masks.putIfAbsent(key, mask);
+            if (existing != null) {
+                return existing;
+            }
+            cachedWords.addAndGet(mask.length);
+        }
+        return mask;
+    }
+
+    /**
+     * Counts how many codes in a set would give each outcome for a guess, using a popcount per outcome
+     *
+     * @param guess     The packed guess
+     * @param set       The codes to split up
+     * @param into      The array to write the count for each outcome index into
+     */
+    public void partitionSizes(int guess, CodeBits set, int[] into) {
+        // if any mask for the guess is missing then build them all in one pass rather than one pass each
+        long[][] all = new long[outcomes][];
+        for (int outcome = 0; outcome < outcomes; ++outcome) {
+            all[outcome] = masks.get((long) guess * outcomes + outcome);
+            if (all[outcome] == null) {
+                all = computeAll(guess);
+                break;
+            }
+        }
+        for (int outcome = 0; outcome < outcomes; ++outcome) {
+            into[outcome] = set.countCommon(all[outcome]);
+        }
+    }
+
+    /**
+     * Computes the masks for every outcome of a guess in a single pass over the codes
+     *
+     * @param guess     The packed guess
+     * @return          The mask for each outcome index
+     */
+    private long[][] computeAll(int guess) {
+        long[][] all = new long[outcomes][CodeBits.words(count)];
+        byte[] scores = score(guess);
+        for (int code = 0; code < count; ++code) {
+            all[scores == null ? feedback.outcome(guess, code) : scores[code] & 0xFF][code >>> 6] |= 1L << code;
+        }
+        for (int outcome = 0; outcome < outcomes; ++outcome) {
+            all[outcome] = keep((long) guess * outcomes + outcome, all[outcome]);
+        }
+        return all;
+    }
+
+    /**
+     * Scores a guess against every code at once, if the feedback supports batches
+     *
+     * @param guess     The packed guess
+     * @return          The outcome index for each code as an unsigned byte, or null to look each one up instead
+     */
+    private byte[] score(int guess) {
+        // another thread may create the batch scorer at the same time, which does no harm
+        if (!batchReady) {
+            batch = feedback.batch(CodeSet.range(count));
+            batchReady = true;
+        }
+        if (batch == null) {
+            return null;
+        }
+        byte[] scores = new byte[count];
+        batch.score(guess, scores);
+        return scores;
+    }
+
+    /**
+     * Getter for the number of masks kept
+     *
+     * @return  The number of cached masks
+     */
+    public int size() {
+        return masks.size();
+    }
+}
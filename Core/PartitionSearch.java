@@ -0,0 +1,431 @@
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Chooses the guess which splits the remaining possibilities up best according to a Criterion
+ *
+ * Each guess is scored exactly once against each possible solution, counting the solutions into a partition histogram
+ * indexed by outcome, and the guess is rated from that histogram. For the WORST_CASE criterion (Knuth's minimax) the
+ * rating is the largest cell, i.e. the most possibilities that could be left after the guess. The guess with the
+ * lowest rating is chosen. When several are equally good a guess which could itself be the solution is preferred, and
+ * then the first one, which matters when guessing from the full set of codes as in Knuth's algorithm
+ *
+ * With more than one thread the candidate guesses are split into chunks which are evaluated in parallel, and the best
+ * of each chunk is reduced in the same order as above, so the result is identical to the sequential one
+ *
+ * If the thread which asked for a guess is interrupted, the search stops at the next guess and throws a
+ * CancellationException, so that a search taking too long can be abandoned. A search can also be given a Budget, in
+ * which case the guesses are rated one at a time in the order given and the best found so far is returned when the
+ * budget runs out
+ */
+public class PartitionSearch {
+    /**
+     * The pools shared by every search with the same number of threads, by number of threads
+     */
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * The feedback used to score guesses against solutions
+     */
+    private final Feedback feedback;
+    /**
+     * The criterion used to rate each guess
+     */
+    private final Criterion criterion;
+    /**
+     * The partition histogram, reused for every guess when running sequentially
+     */
+    private final int[] partition;
+    /**
+     * The number of threads to evaluate guesses with
+     */
+    private final int threads;
+    /**
+     * The pool that parallel evaluation runs in, or null when running sequentially
+     */
+    private final ForkJoinPool pool;
+    /**
+     * How much a partition of each size adds to the rating, grown as larger sets of solutions are seen
+     */
+    private long[] weights;
+
+    /**
+     * Constructor for a sequential minimax search
+     *
+     * @param feedback  The feedback used to score guesses against solutions
+     */
+    public PartitionSearch(Feedback feedback) {
+        this(feedback, Criterion.WORST_CASE, 1);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param feedback  The feedback used to score guesses against solutions
+     * @param criterion The criterion used to rate each guess
+     * @param threads   The number of threads to evaluate guesses with, 1 to run sequentially
+     */
+    public PartitionSearch(Feedback feedback, Criterion criterion, int threads) {
+        this(feedback, criterion, sharedPool(threads));
+    }
+
+    /**
+     * Constructor for a search which shares its threads with others
+     *
+     * @param feedback  The feedback used to score guesses against solutions
+     * @param criterion The criterion used to rate each guess
+     * @param pool      The pool to evaluate guesses in parallel with, or null to run sequentially
+     */
+    public PartitionSearch(Feedback feedback, Criterion criterion, ForkJoinPool pool) {
+        this.feedback = feedback;
+        this.criterion = criterion;
+        this.pool = pool;
+        threads = pool == null ? 1 : pool.getParallelism();
+        partition = new int[feedback.outcomes()];
+        weights = new long[1];
+    }
+
+    /**
+     * Gives the pool shared by every search with a number of threads, so that making many searches or solvers doesn't
+     * start a new set of threads for each one. The pools are never shut down, but their threads are daemons which
+     * finish once they have been idle for a while, so they don't keep the program running
+     *
+     * @param threads   The number of threads to evaluate guesses with
+     * @return          The pool, or null for a single thread, which runs sequentially
+     */
+    public static ForkJoinPool sharedPool(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be at least 1.");
+        }
+        return threads == 1 ? null : POOLS.computeIfAbsent(threads, ForkJoinPool::new);
+    }
+
+    /**
+     * Chooses the next guess from the remaining possibilities
+     *
+     * @param possibilities     The codes which could still be the solution
+     * @return                  The guess to make next
+     */
+    public int choose(CodeSet possibilities) {
+        return choose(possibilities, possibilities);
+    }
+
+    /**
+     * Chooses the next guess from a set of candidate guesses, preferring ones that could be the solution and then the
+     * first one when several are equally good
+     *
+     * @param guesses       The codes which may be guessed
+     * @param solutions     The codes which could still be the solution
+     * @return              The guess to make next
+     * @throws CancellationException    If the calling thread is interrupted during the search
+     */
+    public int choose(CodeSet guesses, CodeSet solutions) {
+        return choose(guesses, solutions, solutions);
+    }
+
+    /**
+     * Chooses the next guess by rating the candidate guesses against some of the codes which could be the solution,
+     * such as a random sample of them, while still preferring guesses which could be the solution
+     *
+     * @param guesses       The codes which may be guessed
+     * @param solutions     The codes to rate each guess against
+     * @param possible      Every code which could still be the solution
+     * @return              The guess to make next
+     * @throws CancellationException    If the calling thread is interrupted during the search
+     */
+    public int choose(CodeSet guesses, CodeSet solutions, CodeSet possible) {
+        if (guesses.isEmpty()) {
+            return 0;
+        }
+        if (criterion != Criterion.WORST_CASE && weights.length <= solutions.size()) {
+            weights = criterion.weights(solutions.size());
+        }
+        // only need to look up which guesses are consistent if they don't all come from the solutions
+        long[] consistent = guesses == possible ? null : bitset(possible);
+        // score each guess against all the solutions at once if the feedback has to be worked out
+        BatchScorer batch = feedback.batch(solutions);
+        // the workers check the calling thread to see whether the search has been abandoned
+        Thread caller = Thread.currentThread();
+
+        long[] best;
+        if (pool == null || guesses.size() < threads) {
+            best = best(guesses, 0, guesses.size(), solutions, consistent, batch, partition, caller);
+        }
+        else {
+            // use a few chunks per thread so that uneven amounts of pruning still balance out
+            int chunks = Math.min(guesses.size(), threads * 4);
+            int size = guesses.size();
+            best = pool.submit(() -> IntStream.range(0, chunks).parallel()
+                    .mapToObj(c -> best(guesses, (int) ((long) size * c / chunks), (int) ((long) size * (c + 1) / chunks),
+                            solutions, consistent, batch, new int[partition.length], caller))
+                    .reduce((a, b) -> b[0] < a[0] || (b[0] == a[0] && b[1] < a[1]) ? b : a)
+                    .get()).join();
+        }
+
+        if (caller.isInterrupted()) {
+            throw new CancellationException("Guess search interrupted.");
+        }
+
+        return guesses.get((int) best[1]);
+    }
+
+    /**
+     * Chooses the next guess within a budget, rating the candidate guesses in the order given and returning the best
+     * one found when the budget runs out. Ties go to the smallest code rather than the first one rated, so a budget
+     * which covers every guess chooses the same one as choose() would with the guesses in ascending order
+     *
+     * @param guesses       The codes which may be guessed, most promising first
+     * @param solutions     The codes to rate each guess against
+     * @param possible      Every code which could still be the solution
+     * @param budget        The limit on the time or number of guesses rated
+     * @return              The guess to make next, along with how many of the guesses were rated
+     * @throws CancellationException    If the calling thread is interrupted during the search
+     */
+    public Choice choose(CodeSet guesses, CodeSet solutions, CodeSet possible, Budget budget) {
+        if (guesses.isEmpty()) {
+            return new Choice(0, 0, 0);
+        }
+        if (criterion != Criterion.WORST_CASE && weights.length <= solutions.size()) {
+            weights = criterion.weights(solutions.size());
+        }
+        long[] consistent = guesses == possible ? null : bitset(possible);
+        BatchScorer batch = feedback.batch(solutions);
+        byte[] scores = batch == null ? null : new byte[solutions.size()];
+        Thread caller = Thread.currentThread();
+
+        long min = Long.MAX_VALUE;
+        // if the budget runs out straight away the most promising guess is the best there is
+        int best = guesses.get(0);
+        int evaluated = 0;
+        while (evaluated < guesses.size() && !budget.isExhausted(evaluated) && !caller.isInterrupted()) {
+            int guess = guesses.get(evaluated++);
+            int penalty = penalty(guess, consistent);
+            // a smaller code wins ties, so it only has to equal the best so far rather than beat it
+            long limit = min == Long.MAX_VALUE || guess > best ? min : min + 1;
+            long bound = limit == Long.MAX_VALUE ? Long.MAX_VALUE : Math.floorDiv(limit - penalty + 1, 2);
+            long key = 2 * rate(guess, solutions, bound, batch, scores, partition) + penalty;
+            if (key < min || (key == min && guess < best)) {
+                min = key;
+                best = guess;
+            }
+        }
+
+        if (caller.isInterrupted()) {
+            throw new CancellationException("Guess search interrupted.");
+        }
+
+        return new Choice(best, evaluated, guesses.size());
+    }
+
+    /**
+     * Builds a bitset of the codes in a set, for checking whether a guess is consistent
+     *
+     * @param codes     The codes to put in the bitset
+     * @return          The bitset, with bit n of word n / 64 set if code n is in the set
+     */
+    private static long[] bitset(CodeSet codes) {
+        int max = 0;
+        for (int i = 0; i < codes.size(); ++i) {
+            max = Math.max(max, codes.get(i));
+        }
+        long[] bits = new long[max / 64 + 1];
+        for (int i = 0; i < codes.size(); ++i) {
+            bits[codes.get(i) >>> 6] |= 1L << codes.get(i);
+        }
+        return bits;
+    }
+
+    /**
+     * Finds the best guess within a range of the candidate guesses
+     *
+     * Guesses are compared by a key of twice their rating plus one if they are not consistent, so that consistent
+     * guesses win ties
+     *
+     * @param guesses       The codes which may be guessed
+     * @param from          The position of the first guess in the range
+     * @param to            The position after the last guess in the range
+     * @param solutions     The codes which could still be the solution
+     * @param consistent    The bitset of codes which could still be the solution, or null if every guess could be
+     * @param batch         The batch scorer for the solutions, or null to look up each outcome
+     * @param partition     The histogram to count partitions in
+     * @param caller        The thread which asked for the guess, stopping early if it is interrupted
+     * @return              The key of the best guess followed by its position
+     */
+    private long[] best(CodeSet guesses, int from, int to, CodeSet solutions, long[] consistent, BatchScorer batch,
+                        int[] partition, Thread caller) {
+        long min = Long.MAX_VALUE;
+        int minIndex = from;
+        int[] candidates = guesses.array();
+        byte[] scores = batch == null ? null : new byte[solutions.size()];
+
+        for (int i = from; i < to && !caller.isInterrupted(); ++i) {
+            int guess = candidates[i];
+            int penalty = penalty(guess, consistent);
+            // the guess can't beat the best so far once its rating reaches this
+            long bound = min == Long.MAX_VALUE ? Long.MAX_VALUE : Math.floorDiv(min - penalty + 1, 2);
+            long key = 2 * rate(guess, solutions, bound, batch, scores, partition) + penalty;
+            // if the key for the current guess is less than the min then let this be our guess for now
+            if (key < min) {
+                min = key;
+                minIndex = i;
+            }
+        }
+
+        return new long[] {min, minIndex};
+    }
+
+    /**
+     * Works out what is added to a guess's key for not being one of the codes which could be the solution
+     *
+     * @param guess         The packed guess
+     * @param consistent    The bitset of codes which could still be the solution, or null if every guess could be
+     * @return              0 if the guess could be the solution, 1 otherwise
+     */
+    private static int penalty(int guess, long[] consistent) {
+        return consistent == null || (guess >>> 6 < consistent.length && (consistent[guess >>> 6] & (1L << guess)) != 0) ? 0 : 1;
+    }
+
+    /**
+     * Rates a guess by the partitions it would split the solutions into
+     *
+     * @param guess         The packed guess
+     * @param solutions     The codes which could still be the solution
+     * @param bound         Stop counting once the rating reaches this, as the guess can't beat the best so far
+     * @param batch         The batch scorer for the solutions, or null to look up each outcome
+     * @param scores        The array for the batch scorer to write outcomes into
+     * @param partition     The histogram to count partitions in
+     * @return              The rating of the guess, or a value of at least bound if counting stopped early
+     */
+    private long rate(int guess, CodeSet solutions, long bound, BatchScorer batch, byte[] scores, int[] partition) {
+        int[] codes = solutions.array();
+        int size = solutions.size();
+        long rating = 0;
+        // the batch scores every solution up front, otherwise only those counted before stopping early are scored
+        int scored = size;
+
+        if (batch != null) {
+            batch.score(guess, scores);
+        }
+        Arrays.fill(partition, 0);
+        if (criterion == Criterion.WORST_CASE) {
+            // the rating is the size of the largest partition
+            for (int j = 0; j < size; ++j) {
+                int count = ++partition[batch == null ? feedback.outcome(guess, codes[j]) : scores[j] & 0xFF];
+                if (count > rating) {
+                    rating = count;
+                    if (rating >= bound) {
+                        scored = batch == null ? j + 1 : size;
+                        break;
+                    }
+                }
+            }
+        }
+        else {
+            // the rating is the total weight of the partitions, updated as each one grows
+            boolean prune = criterion.isMonotone();
+            for (int j = 0; j < size; ++j) {
+                int count = ++partition[batch == null ? feedback.outcome(guess, codes[j]) : scores[j] & 0xFF];
+                rating += weights[count] - weights[count - 1];
+                if (prune && rating >= bound) {
+                    scored = batch == null ? j + 1 : size;
+                    break;
+                }
+            }
+        }
+
+        if (SolverMetrics.ENABLED) {
+            SolverMetrics.scored(scored);
+        }
+        return rating;
+    }
+
+    /**
+     * A guess chosen by a search, along with how many of the candidate guesses were rated to find it
+     */
+    public static final class Choice {
+        /**
+         * The packed code of the guess
+         */
+        private final int guess;
+        /**
+         * The number of candidate guesses rated
+         */
+        private final int evaluated;
+        /**
+         * The number of candidate guesses there were
+         */
+        private final int candidates;
+
+        /**
+         * Constructor
+         *
+         * @param guess         The packed code of the guess
+         * @param evaluated     The number of candidate guesses rated
+         * @param candidates    The number of candidate guesses there were
+         */
+        public Choice(int guess, int evaluated, int candidates) {
+            this.guess = guess;
+            this.evaluated = evaluated;
+            this.candidates = candidates;
+        }
+
+        /**
+         * Creates a choice for a guess which needed no search, such as the opening guess or one remembered from before
+         *
+         * @param guess     The packed code of the guess
+         * @return          The choice, which counts as complete
+         */
+        public static Choice of(int guess) {
+            return new Choice(guess, 1, 1);
+        }
+
+        /**
+         * Getter for the guess
+         *
+         * @return  The packed code of the guess
+         */
+        public int getGuess() {
+            return guess;
+        }
+
+        /**
+         * Getter for the number of candidate guesses rated
+         *
+         * @return  The number of guesses rated before the search finished or its budget ran out
+         */
+        public int getEvaluated() {
+            return evaluated;
+        }
+
+        /**
+         * Getter for the number of candidate guesses
+         *
+         * @return  The number of guesses which could have been rated
+         */
+        public int getCandidates() {
+            return candidates;
+        }
+
+        /**
+         * Checks whether every candidate guess was rated, so that the guess is the one the strategy would make
+         *
+         * @return  True if the search wasn't cut short, false otherwise
+         */
+        public boolean isComplete() {
+            return evaluated == candidates;
+        }
+
+        /**
+         * Returns how much of the search was done
+         *
+         * @return  The fraction of the candidate guesses rated, from 0 to 1
+         */
+        public double getCoverage() {
+            return candidates == 0 ? 1 : (double) evaluated / candidates;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Settings for choosing guesses from random samples, for boards too large to rate every guess against every solution
+ *
+ * Each guess is rated by the partitions it splits a sample of the remaining possibilities into, and only a sample of
+ * the guesses is rated, so a turn costs at most guesses x secrets scorings however many codes are left. Sets no larger
+ * than a sample are used whole, so the end of a game is searched exactly. The samples for a set of possibilities are
+ * drawn from a generator seeded by both the seed and the set itself, so the same set always gives the same guess
+ */
+public class Sampling {
+    /**
+     * The most guesses to rate each turn
+     */
+    private final int guesses;
+    /**
+     * The most possible solutions to rate each guess against
+     */
+    private final int secrets;
+    /**
+     * The seed of the random samples
+     */
+    private final long seed;
+
+    /**
+     * Constructor
+     *
+     * @param guesses   The most guesses to rate each turn
+     * @param secrets   The most possible solutions to rate each guess against
+     * @param seed      The seed of the random samples
+     */
+    public Sampling(int guesses, int secrets, long seed) {
+        if (guesses < 1 || secrets < 1) {
+            throw new IllegalArgumentException("Sample sizes must be at least 1.");
+        }
+        this.guesses = guesses;
+        this.secrets = secrets;
+        this.seed = seed;
+    }
+
+    /**
+     * Gives the random generator to draw the samples for a set of possibilities from
+     *
+     * @param possibilities     The codes which could still be the solution
+     * @return                  A generator which always starts the same for the same seed and possibilities
+     */
+    public SplittableRandom random(CodeSet possibilities) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + GuessCache.fingerprint(possibilities).hashCode());
+    }
+
+    /**
+     * Picks a random sample of the codes in a set, keeping them in the same order
+     *
+     * @param codes     The codes to sample from
+     * @param count     The number of codes to pick
+     * @param random    The generator to draw the sample from
+     * @return          The sample, or the set itself if it has no more than count codes
+     */
+    public static CodeSet sample(CodeSet codes, int count, SplittableRandom random) {
+        int size = codes.size();
+        if (size <= count) {
+            return codes;
+        }
+        // selection sampling: each code is picked with the chance that fills the sample exactly by the end
+        CodeSet sample = new CodeSet(count);
+        int needed = count;
+        for (int i = 0; i < size && needed > 0; ++i) {
+            if (random.nextInt(size - i) < needed) {
+                sample.add(codes.get(i));
+                --needed;
+            }
+        }
+        return sample;
+    }
+
+    /**
+     * Picks a random sample of every possible code without enumerating them
+     *
+     * @param space     The codes to sample from
+     * @param count     The number of codes to pick
+     * @param random    The generator to draw the sample from
+     * @return          The sample in ascending order, which is every code if there are no more than count
+     */
+    public static CodeSet sample(CodeSpace space, int count, SplittableRandom random) {
+        int size = space.size();
+        if (size <= count) {
+            return space.toCodeSet();
+        }
+        // Floyd's algorithm picks count distinct codes with count draws
+        Set<Integer> picked = new HashSet<>();
+        for (int j = size - count; j < size; ++j) {
+            int code = random.nextInt(j + 1);
+            picked.add(picked.contains(code) ? j : code);
+        }
+        int[] codes = picked.stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(codes);
+
+        CodeSet sample = new CodeSet(count);
+        for (int code : codes) {
+            sample.add(code);
+        }
+        return sample;
+    }
+
+    /**
+     * Merges two sets of codes in ascending order, keeping codes found in both only once
+     *
+     * @param first     The first set, in ascending order
+     * @param second    The second set, in ascending order
+     * @return          The codes in either set, in ascending order
+     */
+    public static CodeSet union(CodeSet first, CodeSet second) {
+        CodeSet union = new CodeSet(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+        while (i < first.size() || j < second.size()) {
+            if (j == second.size() || (i < first.size() && first.get(i) < second.get(j))) {
+                union.add(first.get(i++));
+            }
+            else if (i == first.size() || second.get(j) < first.get(i)) {
+                union.add(second.get(j++));
+            }
+            else {
+                union.add(first.get(i++));
+                ++j;
+            }
+        }
+        return union;
+    }
+
+    /**
+     * Getter for the number of guesses rated each turn
+     *
+     * @return  The most guesses to rate each turn
+     */
+    public int getGuesses() {
+        return guesses;
+    }
+
+    /**
+     * Getter for the number of possible solutions each guess is rated against
+     *
+     * @return  The most possible solutions to rate each guess against
+     */
+    public int getSecrets() {
+        return secrets;
+    }
+
+    /**
+     * Getter for the seed of the random samples
+     *
+     * @return  The seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public String toString() {
+        return guesses + " guesses x " + secrets + " secrets (seed " + seed + ")";
+    }
+}
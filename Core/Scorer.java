@@ -0,0 +1,167 @@
+/**
+ * Scores a guess against a hidden answer, giving the number of black and white pegs in a single pass
+ *
+ * The colours of the pegs that aren't black are counted in per-colour histograms, with 4 bits per colour packed into a
+ * long, so no arrays have to be allocated. This covers up to 16 colours and 15 holes, anything bigger falls back to
+ * histograms in ordinary arrays
+ *
+ * Both counts are returned together as a single score: the blacks in the upper bits and the whites in the lowest 8
+ */
+public final class Scorer {
+    /**
+     * The most colours that fit into the packed histograms
+     */
+    public static final int MAX_COLOURS = 16;
+    /**
+     * The most holes that fit into the packed histograms, so that a count never overflows its 4 bits
+     */
+    public static final int MAX_HOLES = 15;
+
+    /**
+     * Private constructor, only static helpers are provided
+     */
+    private Scorer() {
+    }
+
+    /**
+     * Scores a guess against a hidden answer
+     *
+     * @param guess     The colour in each hole of the guess
+     * @param secret    The colour in each hole of the hidden answer
+     * @return          The score, holding both the number of black and white pegs
+     */
+    public static int score(int[] guess, int[] secret) {
+        if (guess.length > MAX_HOLES) {
+            return scoreWide(guess, secret);
+        }
+
+        int blacks = 0;
+        long guessCounts = 0;
+        long secretCounts = 0;
+
+        // count the blacks and build histograms of the colours of everything else
+        for (int i = 0; i < guess.length; ++i) {
+            int g = guess[i];
+            int s = secret[i];
+            if (g == s) {
+                ++blacks;
+            }
+            else if (g < MAX_COLOURS && s < MAX_COLOURS) {
+                guessCounts += 1L << (g << 2);
+                secretCounts += 1L << (s << 2);
+            }
+            else {
+                return scoreWide(guess, secret);
+            }
+        }
+
+        return (blacks << 8) | whites(guessCounts, secretCounts);
+    }
+
+    /**
+     * Scores a guess against a hidden answer where both are packed codes
+     *
+     * @param guess     The packed guess
+     * @param secret    The packed hidden answer
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     * @return          The score, holding both the number of black and white pegs
+     */
+    public static int score(int guess, int secret, int holes, int colours) {
+        if (holes > MAX_HOLES || colours > MAX_COLOURS) {
+            return scoreWide(Codes.unpack(guess, holes, colours), Codes.unpack(secret, holes, colours));
+        }
+
+        int blacks = 0;
+        long guessCounts = 0;
+        long secretCounts = 0;
+
+        // peel off one digit of each code at a time, starting from the last hole
+        for (int i = 0; i < holes; ++i) {
+            int g = guess % colours;
+            int s = secret % colours;
+            guess /= colours;
+            secret /= colours;
+            if (g == s) {
+                ++blacks;
+            }
+            else {
+                guessCounts += 1L << (g << 2);
+                secretCounts += 1L << (s << 2);
+            }
+        }
+
+        return (blacks << 8) | whites(guessCounts, secretCounts);
+    }
+
+    /**
+     * Returns the number of black pegs in a score
+     *
+     * @param score     The score
+     * @return          The number of colours in the correct position
+     */
+    public static int blacks(int score) {
+        return score >>> 8;
+    }
+
+    /**
+     * Returns the number of white pegs in a score
+     *
+     * @param score     The score
+     * @return          The number of correct colours in the wrong positions
+     */
+    public static int whites(int score) {
+        return score & 0xFF;
+    }
+
+    /**
+     * Counts the white pegs from the packed histograms of the pegs that weren't black
+     *
+     * @param guessCounts   The number of each colour in the guess, 4 bits per colour
+     * @param secretCounts  The number of each colour in the hidden answer, 4 bits per colour
+     * @return              The number of correct colours in the wrong positions
+     */
+    private static int whites(long guessCounts, long secretCounts) {
+        int whites = 0;
+        // each colour contributes however many of it the guess and the answer have in common
+        while (guessCounts != 0 && secretCounts != 0) {
+            whites += Math.min((int) (guessCounts & 0xF), (int) (secretCounts & 0xF));
+            guessCounts >>>= 4;
+            secretCounts >>>= 4;
+        }
+        return whites;
+    }
+
+    /**
+     * Scores a guess against a hidden answer using histograms in ordinary arrays, for boards too big to pack
+     *
+     * @param guess     The colour in each hole of the guess
+     * @param secret    The colour in each hole of the hidden answer
+     * @return          The score, holding both the number of black and white pegs
+     */
+    private static int scoreWide(int[] guess, int[] secret) {
+        int colours = 0;
+        for (int i = 0; i < guess.length; ++i) {
+            colours = Math.max(colours, Math.max(guess[i], secret[i]) + 1);
+        }
+
+        int blacks = 0;
+        int[] guessCounts = new int[colours];
+        int[] secretCounts = new int[colours];
+        for (int i = 0; i < guess.length; ++i) {
+            if (guess[i] == secret[i]) {
+                ++blacks;
+            }
+            else {
+                ++guessCounts[guess[i]];
+                ++secretCounts[secret[i]];
+            }
+        }
+
+        int whites = 0;
+        for (int c = 0; c < colours; ++c) {
+            whites += Math.min(guessCounts[c], secretCounts[c]);
+        }
+        return (blacks << 8) | whites;
+    }
+}
@@ -0,0 +1,619 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Plays the guessing side of a game of Mastermind without any user interface
+ *
+ * Each turn the solver is asked for its next guess and then told the number of black and white pegs that guess scored,
+ * which it uses to rule out the combinations that can no longer be the answer. Guesses are packed codes (see Codes)
+ *
+ * A solver plays one game at a time and must only be used by one thread at a time. To play many games at once, make
+ * their solvers or GameSessions from one SolverFactory so that they share everything but the state of each game
+ */
+public class Solver {
+    /**
+     * The number of holes that colours can be arranged into
+     */
+    private final int holes;
+    /**
+     * The number of different colours available to choose from
+     */
+    private final int colours;
+    /**
+     * Every possible combination of colours in holes, which is enumerated rather than stored
+     */
+    private final CodeSpace space;
+    /**
+     * The factory which made the solver, holding everything shared with other games
+     */
+    private final SolverFactory factory;
+    /**
+     * The combinations that the solution could possibly be
+     */
+    private final Candidates remainingPossibilities;
+    /**
+     * The feedback for every pair of codes, precomputed if the board is small enough
+     */
+    private final Feedback feedback;
+    /**
+     * The guesses already chosen for sets of possibilities, or null to always search
+     */
+    private final GuessCache cache;
+    /**
+     * The sizes and seed of the random samples to choose guesses from, or null to search exhaustively
+     */
+    private final Sampling sampling;
+    /**
+     * The strategy to use choose the next guess
+     */
+    private final Strategy strategy;
+    /**
+     * Whether guesses are chosen from every code rather than only those which could be the solution (as Knuth does)
+     */
+    private final boolean fullSearch;
+    /**
+     * The packed code of the opening guess
+     */
+    private final int firstGuess;
+    /**
+     * The history of all guesses made in the current game, as packed codes
+     */
+    private int[] state;
+    /**
+     * The number of guesses made so far
+     */
+    private int numGuesses;
+    /**
+     * Whether the last guess was the solution
+     */
+    private boolean solved;
+
+    /**
+     * Constructor for a single-threaded solver
+     *
+     * @param holes     The number of holes to arrange the colours in
+     * @param colours   The number of colours available for selection
+     * @param strategy  The strategy to use to select the next guess
+     */
+    public Solver(int holes, int colours, Strategy strategy) {
+        this(holes, colours, strategy, 1);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param holes     The number of holes to arrange the colours in
+     * @param colours   The number of colours available for selection
+     * @param strategy  The strategy to use to select the next guess
+     * @param threads   The number of threads to search for the next guess with
+     */
+    public Solver(int holes, int colours, Strategy strategy, int threads) {
+        this(holes, colours, strategy, threads, false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param holes         The number of holes to arrange the colours in
+     * @param colours       The number of colours available for selection
+     * @param strategy      The strategy to use to select the next guess
+     * @param threads       The number of threads to search for the next guess with
+     * @param fullSearch    True to choose guesses from every code, false to only choose ones which could be the solution
+     */
+    public Solver(int holes, int colours, Strategy strategy, int threads, boolean fullSearch) {
+        this(holes, colours, strategy, threads, fullSearch, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param holes         The number of holes to arrange the colours in
+     * @param colours       The number of colours available for selection
+     * @param strategy      The strategy to use to select the next guess
+     * @param threads       The number of threads to search for the next guess with
+     * @param fullSearch    True to choose guesses from every code, false to only choose ones which could be the solution
+     * @param cache         The cache of guesses to share with other solvers with the same settings, or null for none
+     */
+    public Solver(int holes, int colours, Strategy strategy, int threads, boolean fullSearch, GuessCache cache) {
+        this(holes, colours, strategy, threads, fullSearch, cache, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param holes         The number of holes to arrange the colours in
+     * @param colours       The number of colours available for selection
+     * @param strategy      The strategy to use to select the next guess
+     * @param threads       The number of threads to search for the next guess with
+     * @param fullSearch    True to choose guesses from every code, false to only choose ones which could be the solution
+     * @param cache         The cache of guesses to share with other solvers with the same settings, or null for none
+     * @param sampling      The random samples to rate guesses with instead of searching exhaustively, or null for none
+     */
+    public Solver(int holes, int colours, Strategy strategy, int threads, boolean fullSearch, GuessCache cache, Sampling sampling) {
+        this(new SolverFactory(holes, colours, strategy, threads, fullSearch, cache, sampling));
+    }
+
+    /**
+     * Constructor for a solver sharing everything but the state of its game with the others from a factory
+     *
+     * @param factory   The factory making the solver
+     */
+    Solver(SolverFactory factory) {
+        this.factory = factory;
+        holes = factory.getHoles();
+        colours = factory.getColours();
+        strategy = factory.getStrategy();
+        fullSearch = factory.isFullSearch();
+        space = factory.getCodeSpace();
+        feedback = factory.getFeedback();
+        cache = factory.getCache();
+        sampling = factory.getSampling();
+        firstGuess = factory.getFirstGuess();
+        remainingPossibilities = new Candidates(space, feedback);
+        state = new int[16];
+        numGuesses = 0;
+    }
+
+    /**
+     * Makes the next guess using the solver's strategy
+     *
+     * @return  The packed code of the guess
+     */
+    public int nextGuess() {
+        int guess = chooseNextGuess();
+        makeGuess(guess);
+        return guess;
+    }
+
+    /**
+     * Chooses the next guess using the solver's strategy without making it, so that the search can be run on another
+     * thread and abandoned. If that thread is interrupted during the search a CancellationException is thrown
+     *
+     * @return  The packed code of the guess
+     */
+    public int chooseNextGuess() {
+        return chooseNextGuess(Budget.UNLIMITED).getGuess();
+    }
+
+    /**
+     * Chooses the next guess within a budget without making it. The most promising guesses are rated first and the
+     * best one found is settled for if the budget runs out, so a guess is always ready in bounded time. If the thread
+     * is interrupted during the search a CancellationException is thrown
+     *
+     * @param budget    The limit on the time or number of guesses rated
+     * @return          The guess, along with how much of the search was done
+     */
+    public PartitionSearch.Choice chooseNextGuess(Budget budget) {
+        SolverMetrics.GuessEvent event = null;
+        if (SolverMetrics.EVENTS) {
+            event = new SolverMetrics.GuessEvent();
+            event.begin();
+        }
+        long start = SolverMetrics.ENABLED ? System.nanoTime() : 0;
+
+        // the opening guess is fixed, so the candidates don't need to be stored until there has been some feedback
+        PartitionSearch.Choice choice = numGuesses == 0 ? PartitionSearch.Choice.of(firstGuess)
+                : chooseGuess(remainingPossibilities.codes(), state, numGuesses, budget);
+
+        if (SolverMetrics.ENABLED) {
+            SolverMetrics.guessed(System.nanoTime() - start);
+        }
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.turn = numGuesses;
+                event.candidates = remainingPossibilities.size();
+                event.guess = choice.getGuess();
+                event.evaluated = choice.getEvaluated();
+                event.commit();
+            }
+        }
+        return choice;
+    }
+
+    /**
+     * Makes the quickest guess which could still be the solution, without searching, for when there isn't time to use
+     * the solver's strategy
+     *
+     * @return  The packed code of the guess
+     */
+    public int nextConsistentGuess() {
+        int guess = numGuesses == 0 ? firstGuess : getRandomGuess(remainingPossibilities.codes());
+        makeGuess(guess);
+        return guess;
+    }
+
+    /**
+     * Makes a guess, which the next feedback submitted will be for
+     *
+     * @param guess     The packed code of the guess
+     */
+    public void makeGuess(int guess) {
+        if (!space.contains(guess)) {
+            throw new IllegalArgumentException("Invalid packed code for guess: " + guess);
+        }
+        // record the guess in the history, making room if the game has gone on for a long time
+        if (numGuesses == state.length) {
+            state = Arrays.copyOf(state, state.length * 2);
+        }
+        state[numGuesses++] = guess;
+    }
+
+    /**
+     * Chooses the guess the solver's strategy would make with a given set of possibilities remaining, without changing
+     * the state of the current game
+     *
+     * @param possibilities     The codes which could still be the solution
+     * @param guesses           The packed guesses which left those possibilities
+     * @param numGuesses        The number of guesses which left those possibilities
+     * @return                  The packed code of the guess
+     */
+    public int chooseGuess(CodeSet possibilities, int[] guesses, int numGuesses) {
+        return chooseGuess(possibilities, guesses, numGuesses, Budget.UNLIMITED).getGuess();
+    }
+
+    /**
+     * Chooses the guess the solver's strategy would make with a given set of possibilities remaining, settling for the
+     * best one found if the budget runs out first
+     *
+     * @param possibilities     The codes which could still be the solution
+     * @param guesses           The packed guesses which left those possibilities
+     * @param numGuesses        The number of guesses which left those possibilities
+     * @param budget            The limit on the time or number of guesses rated
+     * @return                  The guess, along with how much of the search was done
+     */
+    public PartitionSearch.Choice chooseGuess(CodeSet possibilities, int[] guesses, int numGuesses, Budget budget) {
+        // if we're on the first guess just use the opening guess
+        if (numGuesses == 0) {
+            return PartitionSearch.Choice.of(firstGuess);
+        }
+        // use the guess chosen last time this set of possibilities came up, if there was one
+        if (cache != null) {
+            GuessCache.Fingerprint key = GuessCache.fingerprint(possibilities);
+            int guess = cache.get(key);
+            if (guess >= 0) {
+                return PartitionSearch.Choice.of(guess);
+            }
+            PartitionSearch.Choice choice = searchGuess(possibilities, guesses, numGuesses, budget);
+            // a search cut short may not have found the strategy's guess, so don't let it stand in for one
+            if (choice.isComplete()) {
+                cache.put(key, choice.getGuess());
+            }
+            return choice;
+        }
+        return searchGuess(possibilities, guesses, numGuesses, budget);
+    }
+
+    /**
+     * Searches for the guess to make with a given set of possibilities remaining
+     *
+     * @param possibilities     The codes which could still be the solution
+     * @param guesses           The packed guesses which left those possibilities
+     * @param numGuesses        The number of guesses which left those possibilities
+     * @param budget            The limit on the time or number of guesses rated
+     * @return                  The guess, along with how much of the search was done
+     */
+    private PartitionSearch.Choice searchGuess(CodeSet possibilities, int[] guesses, int numGuesses, Budget budget) {
+        long start = SolverMetrics.ENABLED ? System.nanoTime() : 0;
+
+        // get the next guess using the appropriate strategy
+        PartitionSearch.Choice choice;
+        if (strategy == Strategy.RANDOM) {
+            choice = PartitionSearch.Choice.of(getRandomGuess(possibilities));
+        }
+        else if (strategy == Strategy.MINIMAX) {
+            choice = getMinMaxedGuess(possibilities, guesses, numGuesses, budget);
+        }
+        else {
+            choice = getPartitionedGuess(possibilities, guesses, numGuesses, budget);
+        }
+
+        if (SolverMetrics.ENABLED) {
+            SolverMetrics.searched(System.nanoTime() - start);
+        }
+        return choice;
+    }
+
+    /**
+     * Tells the solver the feedback for its last guess
+     *
+     * @param blacks    The number of colours in the correct position
+     * @param whites    The number of correct colours in the wrong positions
+     */
+    public void submitFeedback(int blacks, int whites) {
+        if (numGuesses == 0) {
+            throw new IllegalStateException("No guess has been made yet.");
+        }
+        if (blacks < 0 || whites < 0 || blacks + whites > holes || (blacks == holes - 1 && whites == 1)) {
+            throw new IllegalArgumentException("Impossible feedback of " + blacks + " blacks and " + whites + " whites.");
+        }
+
+        solved = blacks == holes;
+        if (!solved) {
+            // remove any potential guesses that cannot be correct answer
+            removeImpossibleGuesses(FeedbackTable.outcomeIndex(holes, blacks, whites));
+        }
+    }
+
+    /**
+     * Remove any guesses from our set of possibilities that cannot be the answer
+     *
+     * @param lastOutcome   The outcome index of the feedback for the last guess
+     */
+    private void removeImpossibleGuesses(int lastOutcome) {
+        SolverMetrics.FilterEvent event = null;
+        if (SolverMetrics.EVENTS) {
+            event = new SolverMetrics.FilterEvent();
+            event.begin();
+        }
+        int before = remainingPossibilities.size();
+
+        int lastGuess = state[numGuesses - 1];
+        // only keep the elements that could still possibly be the correct answer
+        remainingPossibilities.retain(lastGuess, lastOutcome);
+
+        int after = remainingPossibilities.size();
+        if (SolverMetrics.ENABLED) {
+            SolverMetrics.filtered(before - after);
+            SolverMetrics.remaining(numGuesses, after);
+        }
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.guess = lastGuess;
+                event.outcome = lastOutcome;
+                event.before = before;
+                event.after = after;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Makes a guess by choosing the first item from the set that's available
+     *
+     * @param possibilities     The codes which could still be the solution
+     * @return                  Returns the next guess to make
+     */
+    private int getRandomGuess(CodeSet possibilities) {
+        return possibilities.isEmpty() ? 0 : possibilities.get(0);
+    }
+
+    /**
+     * Makes an informed choice about which guess to make next by using minimax technique
+     * Partially based on the C# implementation in <a href="http://stackoverflow.com/a/20418736">http://stackoverflow.com/a/20418736</a>
+     *
+     * @param possibilities     The codes which could still be the solution
+     * @param guesses           The packed guesses which left those possibilities
+     * @param numGuesses        The number of guesses which left those possibilities
+     * @param budget            The limit on the time or number of guesses rated
+     * @return                  Returns the next guess to make, along with how much of the search was done
+     */
+    private PartitionSearch.Choice getMinMaxedGuess(CodeSet possibilities, int[] guesses, int numGuesses, Budget budget) {
+        return getPartitionedGuess(possibilities, guesses, numGuesses, budget);
+    }
+
+    /**
+     * Makes the guess that splits the remaining possibilities up best by the strategy's criterion, such as the one
+     * with the highest entropy or the smallest expected number of possibilities left
+     *
+     * @param possibilities     The codes which could still be the solution
+     * @param guesses           The packed guesses which left those possibilities
+     * @param numGuesses        The number of guesses which left those possibilities
+     * @param budget            The limit on the time or number of guesses rated
+     * @return                  Returns the next guess to make, along with how much of the search was done
+     */
+    private PartitionSearch.Choice getPartitionedGuess(CodeSet possibilities, int[] guesses, int numGuesses, Budget budget) {
+        if (sampling != null) {
+            return getSampledGuess(possibilities, guesses, numGuesses, budget);
+        }
+        // with a full search any code may be guessed, with ties going to those that could be the solution
+        CodeSet candidates = fullSearch ? getAllPossibilities() : possibilities;
+        // only rate one guess from each class that the symmetries left by the history map between
+        CodeSet representatives = factory.symmetry().representatives(candidates, guesses, numGuesses);
+        return choose(representatives, possibilities, possibilities, budget);
+    }
+
+    /**
+     * Makes the guess that splits a random sample of the remaining possibilities up best by the strategy's criterion,
+     * choosing from a random sample of the guesses
+     *
+     * @param possibilities     The codes which could still be the solution
+     * @param guesses           The packed guesses which left those possibilities
+     * @param numGuesses        The number of guesses which left those possibilities
+     * @param budget            The limit on the time or number of guesses rated
+     * @return                  Returns the next guess to make, along with how much of the search was done
+     */
+    private PartitionSearch.Choice getSampledGuess(CodeSet possibilities, int[] guesses, int numGuesses, Budget budget) {
+        SplittableRandom random = sampling.random(possibilities);
+        CodeSet candidates;
+        if (fullSearch && space.size() > sampling.getGuesses()) {
+            // draw from the code space so that it never has to be stored, along with some of the possibilities so
+            // that a guess which could be the solution can still win
+            candidates = Sampling.union(Sampling.sample(space, sampling.getGuesses(), random),
+                    Sampling.sample(possibilities, sampling.getGuesses(), random));
+        }
+        else {
+            CodeSet representatives = factory.symmetry().representatives(fullSearch ? getAllPossibilities() : possibilities, guesses, numGuesses);
+            candidates = Sampling.sample(representatives, sampling.getGuesses(), random);
+        }
+        CodeSet secrets = Sampling.sample(possibilities, sampling.getSecrets(), random);
+        return choose(candidates, secrets, possibilities, budget);
+    }
+
+    /**
+     * Rates the candidate guesses against the solutions and chooses the best, most promising first if there is a budget
+     *
+     * @param candidates        The codes which may be guessed, in ascending order
+     * @param solutions         The codes to rate each guess against
+     * @param possibilities     The codes which could still be the solution
+     * @param budget            The limit on the time or number of guesses rated
+     * @return                  The guess to make next, along with how much of the search was done
+     */
+    private PartitionSearch.Choice choose(CodeSet candidates, CodeSet solutions, CodeSet possibilities, Budget budget) {
+        if (budget.isUnlimited()) {
+            int guess = factory.search().choose(candidates, solutions, possibilities);
+            return new PartitionSearch.Choice(guess, candidates.size(), candidates.size());
+        }
+        return factory.search().choose(prioritise(candidates, possibilities), solutions, possibilities, budget);
+    }
+
+    /**
+     * Orders candidate guesses for a search that may be cut short: those which could be the solution come first, since
+     * they can end the game and win ties, then those using the most different colours, which tend to split the
+     * possibilities up most. Guesses that are alike stay in ascending order
+     *
+     * @param candidates        The codes which may be guessed, in ascending order
+     * @param possibilities     The codes which could still be the solution, in ascending order
+     * @return                  The candidates, most promising first
+     */
+    private CodeSet prioritise(CodeSet candidates, CodeSet possibilities) {
+        // bucket each guess by whether it is consistent and how many colours it leaves out, then read the buckets in order
+        int[] keys = new int[candidates.size()];
+        int[] starts = new int[2 * holes + 1];
+        int[] digits = new int[holes];
+        for (int i = 0; i < candidates.size(); ++i) {
+            int guess = candidates.get(i);
+            boolean consistent = candidates == possibilities
+                    || Arrays.binarySearch(possibilities.array(), 0, possibilities.size(), guess) >= 0;
+            Codes.unpack(guess, colours, digits);
+            int used = 0;
+            for (int digit : digits) {
+                used |= 1 << digit;
+            }
+            keys[i] = (consistent ? 0 : holes) + holes - Integer.bitCount(used);
+            ++starts[keys[i] + 1];
+        }
+        for (int key = 1; key < starts.length; ++key) {
+            starts[key] += starts[key - 1];
+        }
+        int[] ordered = new int[candidates.size()];
+        for (int i = 0; i < candidates.size(); ++i) {
+            ordered[starts[keys[i]]++] = candidates.get(i);
+        }
+
+        CodeSet prioritised = new CodeSet(ordered.length);
+        for (int guess : ordered) {
+            prioritised.add(guess);
+        }
+        return prioritised;
+    }
+
+    /**
+     * Resets the solver back to it's initial state ready for a new game
+     */
+    public void reset() {
+        remainingPossibilities.reset();
+        numGuesses = 0;
+        solved = false;
+    }
+
+    /**
+     * Checks whether the last guess was the solution
+     *
+     * @return  True if the game has been solved, false otherwise
+     */
+    public boolean isSolved() {
+        return solved;
+    }
+
+    /**
+     * Getter for the number of guesses made so far
+     *
+     * @return  The number of guesses in the current game
+     */
+    public int getNumGuesses() {
+        return numGuesses;
+    }
+
+    /**
+     * Getter for the number of combinations that could still be the solution
+     *
+     * @return  The number of remaining possibilities
+     */
+    public int getRemainingCount() {
+        return remainingPossibilities.size();
+    }
+
+    /**
+     * Getter for the list of all possible combinations of colours, which are stored the first time this is called so
+     * it is best avoided on large boards (see getCodeSpace())
+     *
+     * @return  The set of all possible combinations, as packed codes
+     */
+    public CodeSet getAllPossibilities() {
+        return factory.allPossibilities();
+    }
+
+    /**
+     * Getter for the space of all possible combinations of colours
+     *
+     * @return  Every possible code, enumerated on demand
+     */
+    public CodeSpace getCodeSpace() {
+        return space;
+    }
+
+    /**
+     * Getter for the strategy used to choose guesses
+     *
+     * @return  The strategy
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Getter for the random samples guesses are rated with
+     *
+     * @return  The sampling settings, or null if guesses are searched for exhaustively
+     */
+    public Sampling getSampling() {
+        return sampling;
+    }
+
+    /**
+     * Checks whether guesses are chosen from every code rather than only those which could be the solution
+     *
+     * @return  True if the solver does a full search, false otherwise
+     */
+    public boolean isFullSearch() {
+        return fullSearch;
+    }
+
+    /**
+     * Getter for the feedback used by the solver
+     *
+     * @return  The feedback for every pair of codes
+     */
+    public Feedback getFeedback() {
+        return feedback;
+    }
+
+    /**
+     * Getter for the opening guess
+     *
+     * @return  The packed code of the first guess of every game
+     */
+    public int getFirstGuess() {
+        return firstGuess;
+    }
+
+    /**
+     * Getter for the number of holes
+     *
+     * @return  The number of holes
+     */
+    public int getHoles() {
+        return holes;
+    }
+
+    /**
+     * Getter for the number of colours
+     *
+     * @return  The number of colours
+     */
+    public int getColours() {
+        return colours;
+    }
+}
@@ -0,0 +1,282 @@
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Makes solvers for a board and strategy which share everything that doesn't change from one game to the next
+ *
+ * The feedback, outcome masks, guess cache and search threads are set up once here, and each Solver or GameSession
+ * made from the factory only holds the state of its own game, which is stored lazily so that a game costs next to
+ * nothing until it has had some feedback. The scratch space used to search for a guess is kept per thread, so any
+ * number of games made by one factory can be played at the same time on different threads
+ */
+public class SolverFactory {
+    /**
+     * The number of holes that colours can be arranged into
+     */
+    private final int holes;
+    /**
+     * The number of different colours available to choose from
+     */
+    private final int colours;
+    /**
+     * The strategy used to choose guesses
+     */
+    private final Strategy strategy;
+    /**
+     * Whether guesses are chosen from every code rather than only those which could be the solution
+     */
+    private final boolean fullSearch;
+    /**
+     * The guesses already chosen for sets of possibilities, shared by every game, or null to always search
+     */
+    private final GuessCache cache;
+    /**
+     * The sizes and seed of the random samples to choose guesses from, or null to search exhaustively
+     */
+    private final Sampling sampling;
+    /**
+     * Every possible combination of colours in holes
+     */
+    private final CodeSpace space;
+    /**
+     * The feedback for every pair of codes, precomputed if the board is small enough
+     */
+    private final Feedback feedback;
+    /**
+     * The packed code of the opening guess
+     */
+    private final int firstGuess;
+    /**
+     * The threads that each search is split between, shared with every other factory using as many, or null to search
+     * on the thread asking for the guess
+     */
+    private final ForkJoinPool pool;
+    /**
+     * The engine used to choose guesses on each thread, or null for the random strategy
+     */
+    private final ThreadLocal<PartitionSearch> searches;
+    /**
+     * The symmetry reduction used on each thread, or null for the random strategy
+     */
+    private final ThreadLocal<Symmetry> symmetries;
+    /**
+     * The set of all possible combinations as packed codes, only stored once a full search needs it
+     */
+    private volatile CodeSet allPossibilities;
+
+    /**
+     * Constructor for a factory whose games each search on a single thread, without a cache
+     *
+     * @param holes     The number of holes to arrange the colours in
+     * @param colours   The number of colours available for selection
+     * @param strategy  The strategy to use to select each guess
+     */
+    public SolverFactory(int holes, int colours, Strategy strategy) {
+        this(holes, colours, strategy, 1, false, null, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param holes         The number of holes to arrange the colours in
+     * @param colours       The number of colours available for selection
+     * @param strategy      The strategy to use to select each guess
+     * @param threads       The number of threads each search is split between, shared by every game
+     * @param fullSearch    True to choose guesses from every code, false to only choose ones which could be the solution
+     * @param cache         The cache of guesses to share between every game, or null for none
+     * @param sampling      The random samples to rate guesses with instead of searching exhaustively, or null for none
+     */
+    public SolverFactory(int holes, int colours, Strategy strategy, int threads, boolean fullSearch, GuessCache cache, Sampling sampling) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be at least 1.");
+        }
+        this.holes = holes;
+        this.colours = colours;
+        this.strategy = strategy;
+        this.fullSearch = fullSearch;
+        this.cache = cache;
+        this.sampling = sampling;
+        space = new CodeSpace(holes, colours);
+        feedback = Feedback.forBoard(holes, colours);
+        firstGuess = generateFirstGuess(holes, colours);
+        pool = strategy == Strategy.RANDOM ? null : PartitionSearch.sharedPool(threads);
+        if (strategy == Strategy.RANDOM) {
+            searches = null;
+            symmetries = null;
+        }
+        else {
+            Criterion criterion = criterion(strategy);
+            searches = ThreadLocal.withInitial(() -> new PartitionSearch(feedback, criterion, pool));
+            symmetries = ThreadLocal.withInitial(() -> new Symmetry(holes, colours));
+        }
+    }
+
+    /**
+     * Returns the criterion that a strategy rates its guesses by
+     *
+     * @param strategy  The strategy
+     * @return          The criterion for the strategy
+     */
+    private static Criterion criterion(Strategy strategy) {
+        switch (strategy) {
+            case ENTROPY:
+                return Criterion.ENTROPY;
+            case EXPECTED_SIZE:
+                return Criterion.EXPECTED_SIZE;
+            case MOST_PARTS:
+                return Criterion.MOST_PARTS;
+            default:
+                return Criterion.WORST_CASE;
+        }
+    }
+
+    /**
+     * Generates the opening guess of 0,0,1,1 (or if longer than four holes just keep adding 1's)
+     *
+     * @param holes     The number of holes
+     * @param colours   The number of colours available for selection
+     * @return          The packed code of the first guess
+     */
+    private static int generateFirstGuess(int holes, int colours) {
+        int[] guess = new int[holes];
+        for (int i = 0; i < holes; ++i) {
+            guess[i] = i < 2 ? 0 : 1;
+        }
+        return Codes.pack(guess, colours);
+    }
+
+    /**
+     * Makes a solver for a new game, which must only be used by one thread at a time
+     *
+     * @return  The solver
+     */
+    public Solver newSolver() {
+        return new Solver(this);
+    }
+
+    /**
+     * Makes a session for a new game, which can be used from any thread
+     *
+     * @return  The game session
+     */
+    public GameSession newSession() {
+        return new GameSession(new Solver(this));
+    }
+
+    /**
+     * Gives the partition search for the current thread
+     *
+     * @return  The search engine, or null for the random strategy
+     */
+    PartitionSearch search() {
+        return searches == null ? null : searches.get();
+    }
+
+    /**
+     * Gives the symmetry reduction for the current thread
+     *
+     * @return  The symmetry reduction, or null for the random strategy
+     */
+    Symmetry symmetry() {
+        return symmetries == null ? null : symmetries.get();
+    }
+
+    /**
+     * Gives the set of all possible combinations, which is stored the first time it is asked for
+     *
+     * @return  The set of all possible combinations as packed codes, which must not be modified
+     */
+    CodeSet allPossibilities() {
+        CodeSet all = allPossibilities;
+        if (all == null) {
+            synchronized (this) {
+                all = allPossibilities;
+                if (all == null) {
+                    all = space.toCodeSet();
+                    allPossibilities = all;
+                }
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Getter for the number of holes
+     *
+     * @return  The number of holes
+     */
+    public int getHoles() {
+        return holes;
+    }
+
+    /**
+     * Getter for the number of colours
+     *
+     * @return  The number of colours
+     */
+    public int getColours() {
+        return colours;
+    }
+
+    /**
+     * Getter for the strategy used to choose guesses
+     *
+     * @return  The strategy
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Checks whether guesses are chosen from every code rather than only those which could be the solution
+     *
+     * @return  True if the games do a full search, false otherwise
+     */
+    public boolean isFullSearch() {
+        return fullSearch;
+    }
+
+    /**
+     * Getter for the guess cache shared by every game
+     *
+     * @return  The cache, or null if guesses are always searched for
+     */
+    public GuessCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Getter for the random samples guesses are rated with
+     *
+     * @return  The sampling settings, or null if guesses are searched for exhaustively
+     */
+    public Sampling getSampling() {
+        return sampling;
+    }
+
+    /**
+     * Getter for the space of all possible combinations of colours
+     *
+     * @return  Every possible code, enumerated on demand
+     */
+    public CodeSpace getCodeSpace() {
+        return space;
+    }
+
+    /**
+     * Getter for the feedback shared by every game
+     *
+     * @return  The feedback for every pair of codes
+     */
+    public Feedback getFeedback() {
+        return feedback;
+    }
+
+    /**
+     * Getter for the opening guess
+     *
+     * @return  The packed code of the first guess of every game
+     */
+    public int getFirstGuess() {
+        return firstGuess;
+    }
+}
@@ -0,0 +1,408 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Counters and timers for where the solver spends its time, shared by every solver in the process
+ *
+ * The counters are only kept when running with -Dmastermind.metrics=true. The switch is a static final field, so when
+ * it is off the JIT removes the code which updates them and the solver runs as if they weren't there. They are
+ * LongAdders, so solvers on different threads don't contend for them. A snapshot of every counter can be taken at any
+ * time, and they can be reset between runs
+ *
+ * Each guess and each pass filtering the possibilities is also recorded as a JDK Flight Recorder event when the JVM is
+ * started with a recording, for example:
+ *
+ *     java -XX:StartFlightRecording=filename=mastermind.jfr MastermindTest
+ *
+ * Loading the recorder takes a few hundred milliseconds, so without a recording the events are never made. To record
+ * them with a recording started later, such as by jcmd, run with -Dmastermind.events=true
+ */
+public final class SolverMetrics {
+    /**
+     * Whether the counters are kept, set with -Dmastermind.metrics
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("mastermind.metrics");
+    /**
+     * Whether guesses and filter passes are recorded as Flight Recorder events, set by starting the JVM with a
+     * recording or with -Dmastermind.events
+     */
+    public static final boolean EVENTS = FlightRecorder.isInitialized() || Boolean.getBoolean("mastermind.events");
+    /**
+     * The number of turns that the candidates remaining are counted separately for, later turns being counted with
+     * the last
+     */
+    public static final int TURNS = 16;
+
+    /**
+     * The number of guesses scored against a code
+     */
+    private static final LongAdder SCORINGS = new LongAdder();
+    /**
+     * The number of passes filtering the possibilities by feedback
+     */
+    private static final LongAdder FILTERS = new LongAdder();
+    /**
+     * The number of codes ruled out by filtering
+     */
+    private static final LongAdder REMOVED = new LongAdder();
+    /**
+     * The number of guesses chosen
+     */
+    private static final LongAdder GUESSES = new LongAdder();
+    /**
+     * The total time spent choosing guesses in nanoseconds
+     */
+    private static final LongAdder GUESS_NANOS = new LongAdder();
+    /**
+     * The longest time spent choosing a guess in nanoseconds
+     */
+    private static final LongAccumulator SLOWEST_GUESS_NANOS = new LongAccumulator(Math::max, 0);
+    /**
+     * The number of guesses searched for, rather than being the opening guess or taken from a cache
+     */
+    private static final LongAdder SEARCHES = new LongAdder();
+    /**
+     * The total time spent searching for guesses in nanoseconds
+     */
+    private static final LongAdder SEARCH_NANOS = new LongAdder();
+    /**
+     * The total candidates remaining after the feedback for each turn, indexed by turn from 0
+     */
+    private static final AtomicLongArray REMAINING = new AtomicLongArray(TURNS);
+    /**
+     * The number of turns whose remaining candidates were counted, indexed by turn from 0
+     */
+    private static final AtomicLongArray TURNS_COUNTED = new AtomicLongArray(TURNS);
+
+    /**
+     * Private constructor, only static helpers are provided
+     */
+    private SolverMetrics() {
+    }
+
+    /**
+     * Counts guesses scored against codes. Callers check ENABLED first so that nothing is done when it is off
+     *
+     * @param count     The number of scorings
+     */
+    static void scored(long count) {
+        SCORINGS.add(count);
+    }
+
+    /**
+     * Counts a pass filtering the possibilities and the codes it ruled out
+     *
+     * @param removed   The number of codes ruled out
+     */
+    static void filtered(int removed) {
+        FILTERS.increment();
+        REMOVED.add(removed);
+    }
+
+    /**
+     * Counts the candidates left after the feedback for a turn
+     *
+     * @param turn          The number of guesses made, from 1
+     * @param remaining     The number of codes which could still be the solution
+     */
+    static void remaining(int turn, int remaining) {
+        int index = Math.min(turn, TURNS) - 1;
+        REMAINING.addAndGet(index, remaining);
+        TURNS_COUNTED.incrementAndGet(index);
+    }
+
+    /**
+     * Counts a guess being chosen and the time it took
+     *
+     * @param nanos     The time taken to choose the guess in nanoseconds
+     */
+    static void guessed(long nanos) {
+        GUESSES.increment();
+        GUESS_NANOS.add(nanos);
+        SLOWEST_GUESS_NANOS.accumulate(nanos);
+    }
+
+    /**
+     * Counts a search for a guess and the time it took
+     *
+     * @param nanos     The time taken by the search in nanoseconds
+     */
+    static void searched(long nanos) {
+        SEARCHES.increment();
+        SEARCH_NANOS.add(nanos);
+    }
+
+    /**
+     * Takes a copy of every counter. Counters updated while the copy is being taken may or may not be included
+     *
+     * @return  The values of the counters
+     */
+    public static Snapshot snapshot() {
+        long[] remaining = new long[TURNS];
+        long[] turns = new long[TURNS];
+        for (int i = 0; i < TURNS; ++i) {
+            remaining[i] = REMAINING.get(i);
+            turns[i] = TURNS_COUNTED.get(i);
+        }
+        return new Snapshot(SCORINGS.sum(), FILTERS.sum(), REMOVED.sum(), GUESSES.sum(), GUESS_NANOS.sum(),
+                SLOWEST_GUESS_NANOS.get(), SEARCHES.sum(), SEARCH_NANOS.sum(), remaining, turns);
+    }
+
+    /**
+     * Sets every counter back to zero
+     */
+    public static void reset() {
+        SCORINGS.reset();
+        FILTERS.reset();
+        REMOVED.reset();
+        GUESSES.reset();
+        GUESS_NANOS.reset();
+        SLOWEST_GUESS_NANOS.reset();
+        SEARCHES.reset();
+        SEARCH_NANOS.reset();
+        for (int i = 0; i < TURNS; ++i) {
+            REMAINING.set(i, 0);
+            TURNS_COUNTED.set(i, 0);
+        }
+    }
+
+    /**
+     * The values of the counters at one point in time
+     */
+    public static final class Snapshot {
+        /**
+         * The number of guesses scored against a code
+         */
+        private final long scorings;
+        /**
+         * The number of passes filtering the possibilities by feedback
+         */
+        private final long filters;
+        /**
+         * The number of codes ruled out by filtering
+         */
+        private final long removed;
+        /**
+         * The number of guesses chosen
+         */
+        private final long guesses;
+        /**
+         * The total time spent choosing guesses in nanoseconds
+         */
+        private final long guessNanos;
+        /**
+         * The longest time spent choosing a guess in nanoseconds
+         */
+        private final long slowestGuessNanos;
+        /**
+         * The number of guesses searched for
+         */
+        private final long searches;
+        /**
+         * The total time spent searching for guesses in nanoseconds
+         */
+        private final long searchNanos;
+        /**
+         * The total candidates remaining after the feedback for each turn
+         */
+        private final long[] remaining;
+        /**
+         * The number of turns whose remaining candidates were counted
+         */
+        private final long[] turns;
+
+        /**
+         * Constructor
+         *
+         * @param scorings          The number of guesses scored against a code
+         * @param filters           The number of passes filtering the possibilities
+         * @param removed           The number of codes ruled out by filtering
+         * @param guesses           The number of guesses chosen
+         * @param guessNanos        The total time spent choosing guesses in nanoseconds
+         * @param slowestGuessNanos The longest time spent choosing a guess in nanoseconds
+         * @param searches          The number of guesses searched for
+         * @param searchNanos       The total time spent searching for guesses in nanoseconds
+         * @param remaining         The total candidates remaining after the feedback for each turn
+         * @param turns             The number of turns whose remaining candidates were counted
+         */
+        private Snapshot(long scorings, long filters, long removed, long guesses, long guessNanos, long slowestGuessNanos,
+                         long searches, long searchNanos, long[] remaining, long[] turns) {
+            this.scorings = scorings;
+            this.filters = filters;
+            this.removed = removed;
+            this.guesses = guesses;
+            this.guessNanos = guessNanos;
+            this.slowestGuessNanos = slowestGuessNanos;
+            this.searches = searches;
+            this.searchNanos = searchNanos;
+            this.remaining = remaining;
+            this.turns = turns;
+        }
+
+        /**
+         * Getter for the number of scorings
+         *
+         * @return  The number of guesses scored against a code
+         */
+        public long getScorings() {
+            return scorings;
+        }
+
+        /**
+         * Getter for the number of filter passes
+         *
+         * @return  The number of passes filtering the possibilities by feedback
+         */
+        public long getFilterPasses() {
+            return filters;
+        }
+
+        /**
+         * Getter for the number of codes ruled out
+         *
+         * @return  The number of codes removed from the possibilities by filtering
+         */
+        public long getRemoved() {
+            return removed;
+        }
+
+        /**
+         * Getter for the number of guesses
+         *
+         * @return  The number of guesses chosen
+         */
+        public long getGuesses() {
+            return guesses;
+        }
+
+        /**
+         * Gives the average time taken to choose a guess
+         *
+         * @return  The average time in milliseconds, or 0 if no guesses have been chosen
+         */
+        public double getAverageGuessMillis() {
+            return guesses == 0 ? 0 : guessNanos / 1e6 / guesses;
+        }
+
+        /**
+         * Gives the longest time taken to choose a guess
+         *
+         * @return  The time in milliseconds
+         */
+        public double getSlowestGuessMillis() {
+            return slowestGuessNanos / 1e6;
+        }
+
+        /**
+         * Getter for the number of searches
+         *
+         * @return  The number of guesses searched for, rather than being the opening guess or taken from a cache
+         */
+        public long getSearches() {
+            return searches;
+        }
+
+        /**
+         * Gives the average time taken by a search
+         *
+         * @return  The average time in milliseconds, or 0 if there have been no searches
+         */
+        public double getAverageSearchMillis() {
+            return searches == 0 ? 0 : searchNanos / 1e6 / searches;
+        }
+
+        /**
+         * Gives the average number of candidates remaining after the feedback for a turn
+         *
+         * @param turn  The number of guesses made, from 1, with every turn from TURNS on counted together
+         * @return      The average number of codes which could still be the solution, or 0 if no games got that far
+         */
+        public double getAverageRemaining(int turn) {
+            int index = Math.min(turn, TURNS) - 1;
+            return turns[index] == 0 ? 0 : (double) remaining[index] / turns[index];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            text.append("Scorings: ").append(scorings).append('\n');
+            text.append("Filter passes: ").append(filters).append(", codes removed: ").append(removed).append('\n');
+            text.append("Guesses: ").append(guesses).append(", average ").append(getAverageGuessMillis())
+                    .append(" ms, slowest ").append(getSlowestGuessMillis()).append(" ms").append('\n');
+            text.append("Searches: ").append(searches).append(", average ").append(getAverageSearchMillis()).append(" ms").append('\n');
+            text.append("Average candidates remaining after each turn:");
+            for (int turn = 1; turn <= TURNS && turns[turn - 1] > 0; ++turn) {
+                text.append(' ').append(String.format("%.1f", getAverageRemaining(turn)));
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * A guess being chosen, recorded with JDK Flight Recorder
+     */
+    @Name("mastermind.Guess")
+    @Label("Guess")
+    @Category("Mastermind")
+    @Description("A solver choosing its next guess")
+    static final class GuessEvent extends Event {
+        /**
+         * The number of guesses made before this one
+         */
+        @Label("Turn")
+        int turn;
+        /**
+         * The number of codes which could be the solution
+         */
+        @Label("Candidates")
+        int candidates;
+        /**
+         * The packed code of the guess chosen
+         */
+        @Label("Guess")
+        int guess;
+        /**
+         * The number of guesses rated by the search
+         */
+        @Label("Evaluated")
+        int evaluated;
+    }
+
+    /**
+     * The possibilities being filtered by the feedback for a guess, recorded with JDK Flight Recorder
+     */
+    @Name("mastermind.Filter")
+    @Label("Filter")
+    @Category("Mastermind")
+    @Description("A solver ruling out the codes which don't fit the feedback for its last guess")
+    static final class FilterEvent extends Event {
+        /**
+         * The packed code of the guess the feedback was for
+         */
+        @Label("Guess")
+        int guess;
+        /**
+         * The outcome index of the feedback
+         */
+        @Label("Outcome")
+        int outcome;
+        /**
+         * The number of codes which could be the solution before filtering
+         */
+        @Label("Before")
+        int before;
+        /**
+         * The number of codes which could be the solution after filtering
+         */
+        @Label("After")
+        int after;
+    }
+}
@@ -0,0 +1,3 @@
+public enum Strategy {
+    RANDOM, MINIMAX, ENTROPY, EXPECTED_SIZE, MOST_PARTS
+}
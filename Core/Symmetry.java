@@ -0,0 +1,294 @@
+import java.util.Arrays;
+
+/**
+ * Cuts down the guesses worth searching using the symmetries of the game
+ *
+ * Relabelling the colours or reordering the holes of every code doesn't change the game, so long as it leaves each of
+ * the guesses made so far unchanged. Any two guesses that such a symmetry maps between split the remaining
+ * possibilities up in exactly the same way, so only one from each class needs to be rated. Colours which haven't been
+ * guessed yet can be swapped freely, and are handled by relabelling them in order of first appearance; the rest of the
+ * symmetries are found by trying every reordering of the holes and working out the colour relabelling it forces
+ *
+ * The representative kept for each class is its lowest code. Since candidate guesses are in ascending order and a
+ * search takes the first of equally good guesses, the guess chosen from the representatives is the same as the guess
+ * chosen from every candidate
+ */
+public class Symmetry {
+    /**
+     * The most symmetries to collect, beyond which the rest are ignored (which only means fewer guesses are cut)
+     */
+    private static final int MAX_SYMMETRIES = 1 << 10;
+
+    /**
+     * The number of holes
+     */
+    private final int holes;
+    /**
+     * The number of colours
+     */
+    private final int colours;
+    /**
+     * The hole each hole is moved to by each symmetry found
+     */
+    private final int[][] positions;
+    /**
+     * The colour each guessed colour is relabelled as by each symmetry found, -1 for colours not guessed yet
+     */
+    private final int[][] relabels;
+    /**
+     * The number of symmetries found for the current history, not counting the identity
+     */
+    private int count;
+    /**
+     * Whether each colour has not been guessed yet
+     */
+    private final boolean[] free;
+    /**
+     * The holes each hole is being moved to while searching for symmetries
+     */
+    private final int[] position;
+    /**
+     * Whether each hole has been moved to while searching for symmetries
+     */
+    private final boolean[] used;
+    /**
+     * The colour each colour is relabelled as while searching for symmetries, -1 if not yet forced
+     */
+    private final int[] relabel;
+    /**
+     * The colour relabelled as each colour while searching for symmetries, -1 if none yet
+     */
+    private final int[] inverse;
+    /**
+     * The digits of the guesses made so far
+     */
+    private int[][] history;
+    /**
+     * The colours whose relabelling was forced by the move chosen for each hole while searching, to undo it later
+     */
+    private int[][] forced;
+    /**
+     * The digits of the candidate being checked
+     */
+    private final int[] digits;
+    /**
+     * The digits of the candidate after a symmetry is applied
+     */
+    private final int[] image;
+    /**
+     * The colour each colour not guessed yet is relabelled as in the image
+     */
+    private final int[] freeMap;
+
+    /**
+     * Constructor
+     *
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     */
+    public Symmetry(int holes, int colours) {
+        this.holes = holes;
+        this.colours = colours;
+        positions = new int[MAX_SYMMETRIES][];
+        relabels = new int[MAX_SYMMETRIES][];
+        free = new boolean[colours];
+        position = new int[holes];
+        used = new boolean[holes];
+        relabel = new int[colours];
+        inverse = new int[colours];
+        history = new int[0][];
+        forced = new int[holes][0];
+        digits = new int[holes];
+        image = new int[holes];
+        freeMap = new int[colours];
+    }
+
+    /**
+     * Keeps only the lowest code from each class of candidates that the symmetries left by a history map between
+     *
+     * @param candidates    The candidate guesses, in ascending order and unchanged as a set by the symmetries (such as
+     *                      every code, or the possibilities left by the history)
+     * @param guesses       The packed guesses made so far
+     * @param numGuesses    The number of guesses made so far
+     * @return              The representatives, or candidates itself if there is nothing to cut
+     */
+    public CodeSet representatives(CodeSet candidates, int[] guesses, int numGuesses) {
+        findSymmetries(guesses, numGuesses);
+        int freeColours = 0;
+        for (boolean f : free) {
+            if (f) {
+                ++freeColours;
+            }
+        }
+        if (count == 0 && freeColours < 2) {
+            return candidates;
+        }
+
+        CodeSet result = new CodeSet(64);
+        int[] codes = candidates.array();
+        for (int i = 0; i < candidates.size(); ++i) {
+            if (isLowest(codes[i])) {
+                result.add(codes[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the symmetries which leave every guess so far unchanged
+     *
+     * @param guesses       The packed guesses made so far
+     * @param numGuesses    The number of guesses made so far
+     */
+    private void findSymmetries(int[] guesses, int numGuesses) {
+        if (history.length != numGuesses) {
+            history = new int[numGuesses][holes];
+            forced = new int[holes][numGuesses];
+        }
+        Arrays.fill(free, true);
+        for (int g = 0; g < numGuesses; ++g) {
+            Codes.unpack(guesses[g], colours, history[g]);
+            for (int colour : history[g]) {
+                free[colour] = false;
+            }
+        }
+
+        Arrays.fill(used, false);
+        Arrays.fill(relabel, -1);
+        Arrays.fill(inverse, -1);
+        count = 0;
+        search(0);
+    }
+
+    /**
+     * Tries every hole that a hole could be moved to, collecting each complete symmetry that isn't the identity
+     *
+     * @param hole  The hole to move next
+     */
+    private void search(int hole) {
+        if (count == MAX_SYMMETRIES) {
+            return;
+        }
+        if (hole == holes) {
+            if (!isIdentity()) {
+                positions[count] = position.clone();
+                relabels[count] = relabel.clone();
+                ++count;
+            }
+            return;
+        }
+
+        for (int target = 0; target < holes; ++target) {
+            if (used[target]) {
+                continue;
+            }
+            // moving this hole to the target forces each guess's colour here to be relabelled as its colour there
+            int assigned = 0;
+            int[] changed = forced[hole];
+            boolean fits = true;
+            for (int[] guess : history) {
+                int from = guess[hole];
+                int to = guess[target];
+                if (relabel[from] == -1 && inverse[to] == -1) {
+                    relabel[from] = to;
+                    inverse[to] = from;
+                    changed[assigned++] = from;
+                }
+                else if (relabel[from] != to) {
+                    fits = false;
+                    break;
+                }
+            }
+            if (fits) {
+                used[target] = true;
+                position[hole] = target;
+                search(hole + 1);
+                used[target] = false;
+            }
+            // undo the relabelling forced by this choice
+            for (int i = 0; i < assigned; ++i) {
+                inverse[relabel[changed[i]]] = -1;
+                relabel[changed[i]] = -1;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the symmetry just found leaves every code unchanged
+     *
+     * @return  True if it is the identity, false otherwise
+     */
+    private boolean isIdentity() {
+        for (int hole = 0; hole < holes; ++hole) {
+            if (position[hole] != hole) {
+                return false;
+            }
+        }
+        for (int colour = 0; colour < colours; ++colour) {
+            if (relabel[colour] != -1 && relabel[colour] != colour) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a code is the lowest in its class
+     *
+     * @param code  The packed code
+     * @return      True if no symmetry maps it to a lower code, false otherwise
+     */
+    private boolean isLowest(int code) {
+        Codes.unpack(code, colours, digits);
+        System.arraycopy(digits, 0, image, 0, holes);
+        if (relabelFree(image) < 0) {
+            return false;
+        }
+        for (int s = 0; s < count; ++s) {
+            int[] moves = positions[s];
+            int[] labels = relabels[s];
+            for (int hole = 0; hole < holes; ++hole) {
+                int colour = digits[hole];
+                image[moves[hole]] = free[colour] ? colour : labels[colour];
+            }
+            if (relabelFree(image) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Relabels the colours not guessed yet in order of first appearance, which gives the lowest code that swapping them
+     * can, and compares the result with the original digits
+     *
+     * @param code  The digits to relabel, changed in place
+     * @return      Negative if the result is lower than the original digits, zero if equal, positive if higher
+     */
+    private int relabelFree(int[] code) {
+        Arrays.fill(freeMap, -1);
+        int next = 0;
+        int comparison = 0;
+        for (int hole = 0; hole < holes; ++hole) {
+            int colour = code[hole];
+            if (free[colour]) {
+                if (freeMap[colour] == -1) {
+                    // hand out the free colours from lowest to highest
+                    while (!free[next]) {
+                        ++next;
+                    }
+                    freeMap[colour] = next++;
+                }
+                code[hole] = freeMap[colour];
+            }
+            // the first hole is the most significant, so the first difference decides
+            if (comparison == 0 && code[hole] != digits[hole]) {
+                comparison = code[hole] < digits[hole] ? -1 : 1;
+                if (comparison < 0) {
+                    return comparison;
+                }
+            }
+        }
+        return comparison;
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Plays the guessing side of a game by walking down a precompiled DecisionTree
+ *
+ * This makes exactly the same guesses as a Solver with the strategy the tree was compiled from, but each turn is just a
+ * lookup in the tree rather than a search
+ */
+public class TreePlayer {
+    /**
+     * The tree to walk down
+     */
+    private final DecisionTree tree;
+    /**
+     * The node holding the current guess, or DecisionTree.SOLVED once the game has been won
+     */
+    private int node;
+    /**
+     * The number of guesses made so far
+     */
+    private int numGuesses;
+    /**
+     * Whether a guess has been made which hasn't had its feedback yet
+     */
+    private boolean awaitingFeedback;
+
+    /**
+     * Constructor
+     *
+     * @param tree  The tree to walk down
+     */
+    public TreePlayer(DecisionTree tree) {
+        this.tree = tree;
+        reset();
+    }
+
+    /**
+     * Makes the next guess
+     *
+     * @return  The packed code of the guess
+     */
+    public int nextGuess() {
+        if (node == DecisionTree.SOLVED) {
+            throw new IllegalStateException("The game has already been solved.");
+        }
+        ++numGuesses;
+        awaitingFeedback = true;
+        return tree.guess(node);
+    }
+
+    /**
+     * Tells the player the feedback for its last guess, moving it down the tree
+     *
+     * @param blacks    The number of colours in the correct position
+     * @param whites    The number of correct colours in the wrong positions
+     */
+    public void submitFeedback(int blacks, int whites) {
+        if (!awaitingFeedback) {
+            throw new IllegalStateException("No guess has been made yet.");
+        }
+        int holes = tree.getHoles();
+        if (blacks < 0 || whites < 0 || blacks + whites > holes || (blacks == holes - 1 && whites == 1)) {
+            throw new IllegalArgumentException("Impossible feedback of " + blacks + " blacks and " + whites + " whites.");
+        }
+
+        int next = tree.next(node, FeedbackTable.outcomeIndex(holes, blacks, whites));
+        if (next == DecisionTree.NONE) {
+            throw new IllegalArgumentException("No solution gives " + blacks + " blacks and " + whites + " whites for every guess so far.");
+        }
+        node = next;
+        awaitingFeedback = false;
+    }
+
+    /**
+     * Resets the player back to the root of the tree ready for a new game
+     */
+    public void reset() {
+        node = tree.root();
+        numGuesses = 0;
+        awaitingFeedback = false;
+    }
+
+    /**
+     * Checks whether the last guess was the solution
+     *
+     * @return  True if the game has been solved, false otherwise
+     */
+    public boolean isSolved() {
+        return node == DecisionTree.SOLVED;
+    }
+
+    /**
+     * Getter for the number of guesses made so far
+     *
+     * @return  The number of guesses in the current game
+     */
+    public int getNumGuesses() {
+        return numGuesses;
+    }
+}
@@ -0,0 +1,76 @@
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Scores guesses against a fixed set of codes using SIMD instructions from the jdk.incubator.vector module
+ *
+ * Each lane holds one code, so every step of scoring is done for as many codes at once as the widest vector of bytes
+ * the processor supports. This class is only compiled when the module is added (see the __README__.txt of each
+ * folder), and is found by BatchScorer.forCodes() when it is
+ */
+public class VectorBatchScorer extends BatchScorer {
+    /**
+     * The widest vector of bytes the processor supports
+     */
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    /**
+     * Constructor
+     *
+     * @param codes     The packed codes to score against
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     */
+    public VectorBatchScorer(CodeSet codes, int holes, int colours) {
+        super(codes, holes, colours);
+    }
+
+    @Override
+    public void score(int guess, byte[] into) {
+        int[] guessDigits = Codes.unpack(guess, holes, colours);
+        byte[] guessCounts = new byte[colours];
+        for (int colour : guessDigits) {
+            ++guessCounts[colour];
+        }
+
+        int upper = SPECIES.loopBound(size);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            ByteVector blacks = ByteVector.zero(SPECIES);
+            for (int hole = 0; hole < holes; ++hole) {
+                VectorMask<Byte> same = ByteVector.fromArray(SPECIES, digits[hole], i).compare(VectorOperators.EQ, (byte) guessDigits[hole]);
+                blacks = blacks.add((byte) 1, same);
+            }
+            ByteVector matches = ByteVector.zero(SPECIES);
+            for (int colour = 0; colour < colours; ++colour) {
+                // colours missing from the guess can't match anything
+                if (guessCounts[colour] != 0) {
+                    matches = matches.add(ByteVector.fromArray(SPECIES, counts[colour], i).min(guessCounts[colour]));
+                }
+            }
+            // the outcome index (see FeedbackTable.outcomeIndex()) rearranges to blacks * holes + matches minus the
+            // triangle blacks * (blacks - 1) / 2, less one more when solved. Every step fits in an unsigned byte
+            ByteVector triangle = blacks.mul(blacks.sub((byte) 1)).lanewise(VectorOperators.LSHR, 1);
+            blacks.mul((byte) holes).add(matches).sub(triangle)
+                    .sub((byte) 1, blacks.compare(VectorOperators.EQ, (byte) holes))
+                    .intoArray(into, i);
+        }
+
+        // score whatever doesn't fill a whole vector one code at a time
+        for (; i < size; ++i) {
+            int blacks = 0;
+            for (int hole = 0; hole < holes; ++hole) {
+                if (digits[hole][i] == guessDigits[hole]) {
+                    ++blacks;
+                }
+            }
+            int matches = 0;
+            for (int colour = 0; colour < colours; ++colour) {
+                matches += Math.min(counts[colour][i], guessCounts[colour]);
+            }
+            into[i] = (byte) FeedbackTable.outcomeIndex(holes, blacks, matches - blacks);
+        }
+    }
+}
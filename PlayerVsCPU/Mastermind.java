@@ -72,70 +72,6 @@ public class Mastermind extends JFrame implements ActionListener {
      */
     JPanel computerGuessPanel = new JPanel();
 
-    /**
-     * Returns the number of guessed colours that are the correct colours in the correct positions
-     *
-     * @param one   The guess of the user
-     * @param two   The hidden answer
-     * @return      The number of colours in the correct position
-     */
-    static int blacks(int[] one, int[] two) {
-        int val = 0;
-        // iterate over the arrays
-        for (int i = 0; i < one.length; ++i) {
-            // if they have the same value at the same point in the array increment the val counter
-            if (one[i] == two[i]) {
-                ++val;
-            }
-        }
-        return val;
-    }
-
-    /**
-     * Returns the number of guessed colours that are the correct colours in the incorrect positions
-     *
-     * @param one   The guess of the user
-     * @param two   The hidden answer
-     * @return      The number of correct colours in the wrong positions
-     */
-    static int whites(int[] one, int[] two) {
-        int val = 0;
-        int[] oneA = new int[one.length];
-        int[] twoA = new int[one.length];
-
-        // create a copy of the two input arrays
-        for (int i = 0; i < one.length; ++i) {
-            oneA[i] = one[i];
-            twoA[i] = two[i];
-        }
-
-        // check each of the items in corresponding positions
-        for (int i = 0; i < one.length; ++i) {
-            // if they are the same, i.e. in the correct position
-            if (oneA[i] == twoA[i]) {
-                // mark as dealt with (since blacks() handles that) by subtracting the current iteration and an arbitrary sufficiently different value from each
-                oneA[i] = 0 - i - 10;
-                twoA[i] = 0 - i - 20;
-            }
-        }
-
-        // compare each item in oneA to every item in twoA
-        for (int i = 0; i < one.length; ++i) {
-            for (int j = 0; j < one.length; ++j) {
-                // don't want to check items at the same index - we did that earlier - only ones in different positions
-                if (i != j && oneA[i] == twoA[j]) {
-                    // increment the counter of whites
-                    ++val;
-                    // mark each one as dealt with
-                    oneA[i] = 0 - i - 10;
-                    twoA[j] = 0 - j - 20;
-                    break;
-                }
-            }
-        }
-        return val;
-    }
-
     /**
      * Returns a different Colour object depending on the integer passed in
      *
@@ -322,8 +258,9 @@ public class Mastermind extends JFrame implements ActionListener {
      */
     public void actionPerformed(ActionEvent e) {
         // get the number of white and black pegs
-        int whiteThings = whites(state[numGuesses], hiddenGuess);
-        int blackThings = blacks(state[numGuesses], hiddenGuess);
+        int score = Scorer.score(state[numGuesses], hiddenGuess);
+        int whiteThings = Scorer.whites(score);
+        int blackThings = Scorer.blacks(score);
 
         // disable the current row of coloured pegs
         for (int i = 0; i < width; ++i) {
@@ -0,0 +1 @@
+typeSearchIndex = [{"l":"All Classes and Interfaces","u":"allclasses-index.html"},{"p":"<Unnamed>","l":"BatchScorer"},{"p":"<Unnamed>","l":"BatchSolver"},{"p":"<Unnamed>","l":"Budget"},{"p":"<Unnamed>","l":"DecisionTree.Builder"},{"p":"<Unnamed>","l":"Candidates"},{"p":"<Unnamed>","l":"PartitionSearch.Choice"},{"p":"<Unnamed>","l":"CodeBits"},{"p":"<Unnamed>","l":"Codes"},{"p":"<Unnamed>","l":"CodeSet"},{"p":"<Unnamed>","l":"CodeSpace"},{"p":"<Unnamed>","l":"Criterion"},{"p":"<Unnamed>","l":"DecisionTree"},{"p":"<Unnamed>","l":"Feedback"},{"p":"<Unnamed>","l":"FeedbackTable"},{"p":"<Unnamed>","l":"SolverMetrics.FilterEvent"},{"p":"<Unnamed>","l":"GuessCache.Fingerprint"},{"p":"<Unnamed>","l":"GameSession"},{"p":"<Unnamed>","l":"GuessCache"},{"p":"<Unnamed>","l":"SolverMetrics.GuessEvent"},{"p":"<Unnamed>","l":"Mastermind"},{"p":"<Unnamed>","l":"OutcomeMasks"},{"p":"<Unnamed>","l":"PartitionSearch"},{"p":"<Unnamed>","l":"Sampling"},{"p":"<Unnamed>","l":"Scorer"},{"p":"<Unnamed>","l":"SolverMetrics.Snapshot"},{"p":"<Unnamed>","l":"Solver"},{"p":"<Unnamed>","l":"SolverFactory"},{"p":"<Unnamed>","l":"SolverMetrics"},{"p":"<Unnamed>","l":"Strategy"},{"p":"<Unnamed>","l":"Symmetry"},{"p":"<Unnamed>","l":"TreePlayer"},{"p":"<Unnamed>","l":"BatchSolver.Walker"}];updateSearchResults();
\ No newline at end of file
@@ -0,0 +1,281 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A client which plays games against a MastermindServer from many connections at once and reports the latency and
+ * throughput of the server's responses
+ *
+ * Each client thread opens its own connection and plays games for random secrets back to back, scoring the server's
+ * guesses itself. Only requests sent during the measured time, and games started during it, are counted, so neither
+ * the warmup nor the games being finished off after the end add to the figures. Afterwards the percentiles of the time
+ * taken to answer every counted request are printed, along with the number of requests and games completed per second
+ */
+public class LoadGenerator {
+    /**
+     * The port the server is listening on, set with -Dload.port
+     */
+    private static final int PORT = Integer.getInteger("load.port", 4321);
+    /**
+     * The number of connections playing at the same time, set with -Dload.clients
+     */
+    private static final int CLIENTS = Integer.getInteger("load.clients", 8);
+    /**
+     * The time in milliseconds to play before counting requests, set with -Dload.warmup
+     */
+    private static final long WARMUP_MILLIS = Long.getLong("load.warmup", 2000);
+    /**
+     * The time in milliseconds to count requests for, set with -Dload.time
+     */
+    private static final long TIME_MILLIS = Long.getLong("load.time", 10000);
+    /**
+     * The seed of the random secrets, set with -Dload.seed
+     */
+    private static final long SEED = Long.getLong("load.seed", 1);
+
+    /**
+     * The requests made and games played by a single connection
+     */
+    private static class Client implements Runnable {
+        /**
+         * The seed of this connection's secrets
+         */
+        private final long seed;
+        /**
+         * The time from System.nanoTime() at which to start counting requests
+         */
+        private final long start;
+        /**
+         * The time from System.nanoTime() at which to stop playing
+         */
+        private final long end;
+        /**
+         * The time taken to answer each counted request in nanoseconds
+         */
+        private long[] latencies = new long[1024];
+        /**
+         * The number of counted requests
+         */
+        private int requests;
+        /**
+         * The number of games started during the measured time
+         */
+        private int games;
+        /**
+         * The total number of guesses in the games started during the measured time
+         */
+        private long guesses;
+        /**
+         * The number of games which went wrong, either by an error from the server or by being wrongly solved
+         */
+        private int failures;
+        /**
+         * The exception which stopped the connection, or null if it played until the end
+         */
+        private IOException error;
+
+        /**
+         * Constructor
+         *
+         * @param seed      The seed of this connection's secrets
+         * @param start     The time from System.nanoTime() at which to start counting requests
+         * @param end       The time from System.nanoTime() at which to stop playing
+         */
+        Client(long seed, long start, long end) {
+            this.seed = seed;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public void run() {
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), PORT);
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+                socket.setTcpNoDelay(true);
+                // the server starts by describing its board, e.g. MASTERMIND 4 6 MINIMAX
+                String[] greeting = read(in).split(" ");
+                int holes = Integer.parseInt(greeting[1]);
+                int colours = Integer.parseInt(greeting[2]);
+                int count = Codes.count(holes, colours);
+                SplittableRandom random = new SplittableRandom(seed);
+
+                while (System.nanoTime() - end < 0) {
+                    play(in, out, random.nextInt(count), holes, colours);
+                }
+                out.println("QUIT");
+                out.flush();
+            }
+            catch (IOException e) {
+                error = e;
+            }
+        }
+
+        /**
+         * Plays a single game
+         *
+         * @param in        The responses from the server
+         * @param out       The requests to the server
+         * @param secret    The packed code of the secret for the server to find
+         * @param holes     The number of holes
+         * @param colours   The number of colours
+         * @throws IOException  If the connection failed
+         */
+        private void play(BufferedReader in, PrintWriter out, int secret, int holes, int colours) throws IOException {
+            long started = System.nanoTime();
+            String[] response = request(in, out, "NEW");
+            int numGuesses = 0;
+            while (response[0].equals("GAME") || response[0].equals("GUESS")) {
+                ++numGuesses;
+                int guess = Codes.pack(parse(response[2]), colours);
+                int outcome = FeedbackTable.score(guess, secret, holes, colours);
+                response = request(in, out, "FEEDBACK " + response[1] + " " + FeedbackTable.blacksOf(holes, outcome) + " " + FeedbackTable.whitesOf(holes, outcome));
+            }
+            if (!isMeasured(started)) {
+                return;
+            }
+            if (response[0].equals("SOLVED") && Integer.parseInt(response[2]) == numGuesses) {
+                ++games;
+                guesses += numGuesses;
+            }
+            else {
+                ++failures;
+            }
+        }
+
+        /**
+         * Sends a request and waits for its response, recording how long it took if it was sent during the measured time
+         *
+         * @param in        The responses from the server
+         * @param out       The requests to the server
+         * @param request   The request line
+         * @return          The words of the response
+         * @throws IOException  If the connection failed
+         */
+        private String[] request(BufferedReader in, PrintWriter out, String request) throws IOException {
+            long sent = System.nanoTime();
+            out.println(request);
+            out.flush();
+            String response = read(in);
+            if (isMeasured(sent)) {
+                if (requests == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, requests * 2);
+                }
+                latencies[requests++] = System.nanoTime() - sent;
+            }
+            return response.split(" ");
+        }
+
+        /**
+         * Checks whether something happened during the measured time, after the warmup and before the end
+         *
+         * @param time  The time from System.nanoTime()
+         * @return      True if it should be counted, false otherwise
+         */
+        private boolean isMeasured(long time) {
+            return time - start >= 0 && time - end < 0;
+        }
+
+        /**
+         * Reads a line from the server
+         *
+         * @param in    The responses from the server
+         * @return      The line
+         * @throws IOException  If the connection failed or was closed
+         */
+        private static String read(BufferedReader in) throws IOException {
+            String line = in.readLine();
+            if (line == null) {
+                throw new IOException("Server closed the connection.");
+            }
+            return line;
+        }
+
+        /**
+         * Reads a code written as its colours separated by commas
+         *
+         * @param text  The code as text, e.g. 0,0,1,1
+         * @return      The colour in each hole
+         */
+        private static int[] parse(String text) {
+            String[] colours = text.split(",");
+            int[] code = new int[colours.length];
+            for (int i = 0; i < code.length; ++i) {
+                code[i] = Integer.parseInt(colours[i]);
+            }
+            return code;
+        }
+    }
+
+    /**
+     * Plays against the server from every connection at once and prints the results
+     *
+     * @param args  Not used
+     * @throws InterruptedException     If interrupted while waiting for the connections to finish
+     */
+    public static void main(String[] args) throws InterruptedException {
+        long start = System.nanoTime() + WARMUP_MILLIS * 1000000;
+        long end = start + TIME_MILLIS * 1000000;
+
+        Client[] clients = new Client[CLIENTS];
+        Thread[] threads = new Thread[CLIENTS];
+        for (int i = 0; i < CLIENTS; ++i) {
+            clients[i] = new Client(SEED * 31 + i, start, end);
+            threads[i] = new Thread(clients[i], "load-client-" + i);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // merge every connection's results
+        int requests = 0;
+        int games = 0;
+        long guesses = 0;
+        int failures = 0;
+        for (Client client : clients) {
+            if (client.error != null) {
+                System.out.println("A connection failed: " + client.error.getMessage());
+            }
+            requests += client.requests;
+            games += client.games;
+            guesses += client.guesses;
+            failures += client.failures;
+        }
+        long[] latencies = new long[requests];
+        int next = 0;
+        for (Client client : clients) {
+            System.arraycopy(client.latencies, 0, latencies, next, client.requests);
+            next += client.requests;
+        }
+        Arrays.sort(latencies);
+
+        double seconds = TIME_MILLIS / 1000.0;
+        System.out.println("Connections: " + CLIENTS + ", measured for " + seconds + " s after a " + WARMUP_MILLIS / 1000.0 + " s warmup");
+        System.out.println("Games: " + games + " (" + (games == 0 ? 0 : (double) guesses / games) + " guesses on average), " + failures + " failed");
+        System.out.println("Throughput: " + String.format("%.1f", requests / seconds) + " requests/s, " + String.format("%.1f", games / seconds) + " games/s");
+        if (requests > 0) {
+            System.out.println(String.format("Latency (ms): p50 %.3f, p90 %.3f, p99 %.3f, p99.9 %.3f, max %.3f",
+                    percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99), percentile(latencies, 99.9), latencies[requests - 1] / 1e6));
+        }
+    }
+
+    /**
+     * Gives a percentile of some sorted times, by the nearest rank
+     *
+     * @param sorted        The times in nanoseconds, in ascending order
+     * @param percentile    The percentile to give, from 0 to 100
+     * @return              The time in milliseconds below which that percentage of the times fall
+     */
+    private static double percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1e6;
+    }
+}
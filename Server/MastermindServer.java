@@ -0,0 +1,356 @@
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local server which plays games of Mastermind for clients over a line-based TCP protocol
+ *
+ * Every game is a GameSession made by one SolverFactory, so the feedback table, guess cache and search threads are
+ * shared by all of them and each game only holds its own remaining possibilities. Each connection is handled by its
+ * own thread: a virtual thread when running on Java 21 or later, otherwise a pooled platform thread. A connection can
+ * play any number of games, one after another or interleaved, and its games are ended when it closes. Only the
+ * connection which started a game can give feedback for it or end it
+ *
+ * Each request and response is a single line of ASCII text, and codes are written as their colours separated by
+ * commas, e.g. 0,0,1,1:
+ *
+ *     (on connecting)              MASTERMIND holes colours strategy
+ *     NEW                          GAME id guess
+ *     FEEDBACK id blacks whites    GUESS id guess, or SOLVED id guesses
+ *     END id                       ENDED id
+ *     QUIT                         (the connection is closed)
+ *
+ * Any request which can't be carried out is answered with ERROR and a message, and the connection stays open
+ */
+public class MastermindServer implements Closeable {
+    /**
+     * The port to listen on, set with -Dserver.port
+     */
+    private static final int PORT = Integer.getInteger("server.port", 4321);
+    /**
+     * The strategy to play with, set with -Dserver.strategy
+     */
+    private static final Strategy STRATEGY = Strategy.valueOf(System.getProperty("server.strategy", "MINIMAX"));
+    /**
+     * The number of threads used to search for each guess, set with -Dserver.threads
+     */
+    private static final int THREADS = Integer.getInteger("server.threads", 1);
+    /**
+     * The most guesses remembered for reuse by every game, set with -Dserver.cacheEntries (0 to turn it off)
+     */
+    private static final int CACHE_ENTRIES = Integer.getInteger("server.cacheEntries", 1 << 16);
+    /**
+     * The most time in milliseconds to spend searching for each guess, set with -Dserver.budget (0 for no limit)
+     */
+    private static final long BUDGET_MILLIS = Long.getLong("server.budget", 0);
+
+    /**
+     * The factory which makes every game, holding everything they share
+     */
+    private final SolverFactory factory;
+    /**
+     * The most time in milliseconds to spend searching for each guess, or 0 for no limit
+     */
+    private final long budgetMillis;
+    /**
+     * The socket that connections are accepted on
+     */
+    private final ServerSocket socket;
+    /**
+     * The threads handling the connections, one for each
+     */
+    private final ExecutorService connections;
+    /**
+     * The games being played, by id
+     */
+    private final Map<Long, GameSession> games;
+    /**
+     * The id of the next game to be started
+     */
+    private final AtomicLong nextId;
+
+    /**
+     * Constructor, which opens the socket on the loopback address but doesn't accept connections until serve() is called
+     *
+     * @param factory       The factory to make each game with
+     * @param port          The port to listen on, or 0 for any free port
+     * @param budgetMillis  The most time in milliseconds to spend searching for each guess, or 0 for no limit
+     * @throws IOException  If the socket couldn't be opened
+     */
+    public MastermindServer(SolverFactory factory, int port, long budgetMillis) throws IOException {
+        if (budgetMillis < 0) {
+            throw new IllegalArgumentException("Budget must not be negative.");
+        }
+        this.factory = factory;
+        this.budgetMillis = budgetMillis;
+        socket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        connections = newConnectionExecutor();
+        games = new ConcurrentHashMap<>();
+        nextId = new AtomicLong(1);
+    }
+
+    /**
+     * Starts a server for the board given on the command line and serves until the process is stopped
+     *
+     * @param args          The board to play as holes x colours, e.g. 5x8 (defaults to 4x6)
+     * @throws IOException  If the socket couldn't be opened
+     */
+    public static void main(String[] args) throws IOException {
+        String[] board = (args.length == 0 ? "4x6" : args[0]).split("x");
+        int holes = Integer.parseInt(board[0]);
+        int colours = Integer.parseInt(board[1]);
+        GuessCache cache = CACHE_ENTRIES > 0 ? new GuessCache(CACHE_ENTRIES) : null;
+        SolverFactory factory = new SolverFactory(holes, colours, STRATEGY, THREADS, false, cache, null);
+
+        try (MastermindServer server = new MastermindServer(factory, PORT, BUDGET_MILLIS)) {
+            System.out.println("Playing " + holes + "x" + colours + " " + STRATEGY + " on port " + server.getPort());
+            server.serve();
+        }
+    }
+
+    /**
+     * Makes the executor which runs each connection on its own thread. Virtual threads are used where the JDK has
+     * them (Java 21 or later), looked up reflectively so the server still compiles and runs on older JDKs, which get a
+     * pool of platform threads that grows with the number of connections instead
+     *
+     * @return  The executor
+     */
+    private static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "mastermind-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Accepts connections until the server is closed, handing each one to its own thread
+     *
+     * @throws IOException  If accepting a connection failed other than by the server being closed
+     */
+    public void serve() throws IOException {
+        while (!socket.isClosed()) {
+            Socket client;
+            try {
+                client = socket.accept();
+            }
+            catch (SocketException e) {
+                // the socket was closed while waiting for a connection
+                if (socket.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            connections.execute(() -> handle(client));
+        }
+    }
+
+    /**
+     * Answers the requests on a connection until it is closed, then ends any games it left unfinished
+     *
+     * @param client    The connection
+     */
+    private void handle(Socket client) {
+        Set<Long> open = new HashSet<>();
+        try (Socket connection = client;
+             BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.US_ASCII))) {
+            connection.setTcpNoDelay(true);
+            out.println("MASTERMIND " + factory.getHoles() + " " + factory.getColours() + " " + factory.getStrategy());
+            out.flush();
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                String request = line.trim();
+                if (request.equals("QUIT")) {
+                    break;
+                }
+                out.println(respond(request, open));
+                out.flush();
+            }
+        }
+        catch (IOException e) {
+            // the client went away, so there is nobody to tell
+        }
+        finally {
+            for (long id : open) {
+                games.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Carries out a single request
+     *
+     * @param request   The request, without its line ending
+     * @param open      The ids of the unfinished games started on this connection
+     * @return          The response line
+     */
+    private String respond(String request, Set<Long> open) {
+        String[] words = request.split("\\s+");
+        try {
+            switch (words[0]) {
+                case "NEW":
+                    return newGame(open);
+                case "FEEDBACK":
+                    if (words.length != 4) {
+                        return "ERROR Expected FEEDBACK id blacks whites";
+                    }
+                    return feedback(Long.parseLong(words[1]), Integer.parseInt(words[2]), Integer.parseInt(words[3]), open);
+                case "END":
+                    if (words.length != 2) {
+                        return "ERROR Expected END id";
+                    }
+                    long id = Long.parseLong(words[1]);
+                    if (!open.contains(id)) {
+                        return "ERROR No game " + id;
+                    }
+                    finish(id, open);
+                    return "ENDED " + id;
+                default:
+                    return "ERROR Unknown request " + words[0];
+            }
+        }
+        catch (NumberFormatException e) {
+            return "ERROR Not a number: " + e.getMessage();
+        }
+        catch (IllegalArgumentException | IllegalStateException e) {
+            return "ERROR " + e.getMessage();
+        }
+    }
+
+    /**
+     * Starts a game and makes its first guess
+     *
+     * @param open      The ids of the unfinished games started on this connection, which the new game is added to
+     * @return          The response line
+     */
+    private String newGame(Set<Long> open) {
+        GameSession session = factory.newSession();
+        long id = nextId.getAndIncrement();
+        games.put(id, session);
+        open.add(id);
+        return "GAME " + id + " " + format(nextGuess(session));
+    }
+
+    /**
+     * Gives a game the feedback for its last guess and makes the next guess, or ends the game if it has been solved
+     *
+     * @param id        The id of the game
+     * @param blacks    The number of colours in the correct position
+     * @param whites    The number of correct colours in the wrong positions
+     * @param open      The ids of the unfinished games started on this connection
+     * @return          The response line
+     */
+    private String feedback(long id, int blacks, int whites, Set<Long> open) {
+        // ids are handed out in order, so only games started on this connection can be played on it
+        GameSession session = open.contains(id) ? games.get(id) : null;
+        if (session == null) {
+            return "ERROR No game " + id;
+        }
+        synchronized (session) {
+            session.submitFeedback(blacks, whites);
+            if (session.isSolved()) {
+                finish(id, open);
+                return "SOLVED " + id + " " + session.getNumGuesses();
+            }
+            if (session.getRemainingCount() == 0) {
+                finish(id, open);
+                return "ERROR No combination fits the feedback given for game " + id;
+            }
+            return "GUESS " + id + " " + format(nextGuess(session));
+        }
+    }
+
+    /**
+     * Forgets a game which has been solved or ended
+     *
+     * @param id        The id of the game
+     * @param open      The ids of the unfinished games started on this connection
+     * @return          The game, or null if there was no game with the id
+     */
+    private GameSession finish(long id, Set<Long> open) {
+        open.remove(id);
+        return games.remove(id);
+    }
+
+    /**
+     * Makes the next guess in a game, within the server's budget if it has one
+     *
+     * @param session   The game
+     * @return          The packed code of the guess
+     */
+    private int nextGuess(GameSession session) {
+        if (budgetMillis == 0) {
+            return session.nextGuess();
+        }
+        return session.nextGuess(Budget.millis(budgetMillis)).getGuess();
+    }
+
+    /**
+     * Writes a code as its colours separated by commas
+     *
+     * @param code  The packed code
+     * @return      The code as text, e.g. 0,0,1,1
+     */
+    private String format(int code) {
+        int[] colours = Codes.unpack(code, factory.getHoles(), factory.getColours());
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < colours.length; ++i) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(colours[i]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Getter for the port the server is listening on
+     *
+     * @return  The port
+     */
+    public int getPort() {
+        return socket.getLocalPort();
+    }
+
+    /**
+     * Getter for the number of games being played
+     *
+     * @return  The number of games started but not yet solved or ended
+     */
+    public int getGameCount() {
+        return games.size();
+    }
+
+    /**
+     * Stops accepting connections and stops the threads handling them
+     *
+     * @throws IOException  If the socket couldn't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        socket.close();
+        connections.shutdownNow();
+    }
+}
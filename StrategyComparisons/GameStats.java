@@ -0,0 +1,78 @@
+/**
+ * Running totals of the number of guesses taken over a set of games
+ */
+public class GameStats {
+    /**
+     * The number of games played
+     */
+    private long games;
+    /**
+     * The total number of guesses over all games
+     */
+    private long totalGuesses;
+    /**
+     * The largest number of guesses taken in any one game
+     */
+    private int maxGuesses;
+
+    /**
+     * Records the result of a single game
+     *
+     * @param guesses   The number of guesses taken to reach the solution
+     */
+    public void record(int guesses) {
+        ++games;
+        totalGuesses += guesses;
+        // if we exceeded the previous maximum number of guesses update to the new one
+        if (guesses > maxGuesses) {
+            maxGuesses = guesses;
+        }
+    }
+
+    /**
+     * Adds the totals from another set of games to this one
+     *
+     * @param other     The statistics to merge in
+     */
+    public void merge(GameStats other) {
+        games += other.games;
+        totalGuesses += other.totalGuesses;
+        maxGuesses = Math.max(maxGuesses, other.maxGuesses);
+    }
+
+    /**
+     * Getter for the number of games played
+     *
+     * @return  The number of games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Getter for the total number of guesses
+     *
+     * @return  The total number of guesses over all games
+     */
+    public long getTotalGuesses() {
+        return totalGuesses;
+    }
+
+    /**
+     * Getter for the largest number of guesses
+     *
+     * @return  The largest number of guesses taken in any one game
+     */
+    public int getMaxGuesses() {
+        return maxGuesses;
+    }
+
+    /**
+     * Returns the average number of guesses per game
+     *
+     * @return  The average number of guesses, or 0 if no games were played
+     */
+    public double getAverageGuesses() {
+        return games == 0 ? 0 : ((double) totalGuesses) / games;
+    }
+}
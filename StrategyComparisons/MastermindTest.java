@@ -1,10 +1,70 @@
-import java.util.Set;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Test class for calculating worst and average case performance of Mastermind strategies
  */
 public class MastermindTest {
-    public static void main(String[] args) {
+    /**
+     * The number of threads used to search for each guess, set with -Dmastermind.threads
+     */
+    private static final int THREADS = Integer.getInteger("mastermind.threads", 1);
+    /**
+     * The number of games played at the same time, set with -Dmastermind.workers
+     */
+    private static final int WORKERS = Integer.getInteger("mastermind.workers", Runtime.getRuntime().availableProcessors());
+    /**
+     * The most guesses each set of games remembers for reuse, set with -Dmastermind.cacheEntries (0 to turn it off)
+     */
+    private static final int CACHE_ENTRIES = Integer.getInteger("mastermind.cacheEntries", 1 << 16);
+    /**
+     * The most guesses rated each turn by sampled minimax, set with -Dmastermind.sampleGuesses
+     */
+    private static final int SAMPLE_GUESSES = Integer.getInteger("mastermind.sampleGuesses", 200);
+    /**
+     * The most possible solutions each guess is rated against by sampled minimax, set with -Dmastermind.sampleSecrets
+     */
+    private static final int SAMPLE_SECRETS = Integer.getInteger("mastermind.sampleSecrets", 500);
+    /**
+     * The seed of the random samples used by sampled minimax, set with -Dmastermind.seed
+     */
+    private static final long SEED = Long.getLong("mastermind.seed", 1);
+    /**
+     * How often the progress line is updated while a game set is running, in milliseconds
+     */
+    private static final long PROGRESS_MILLIS = 1000;
+    /**
+     * Where the result of every game is streamed to, set with -Dmastermind.results, or null to not record them
+     */
+    private static ResultLog results;
+
+    public static void main(String[] args) throws IOException {
+        String file = System.getProperty("mastermind.results");
+        results = file == null ? null : new ResultLog(Paths.get(file));
+        try {
+            runAll();
+        }
+        finally {
+            if (results != null) {
+                results.close();
+            }
+        }
+    }
+
+    /**
+     * Runs the game simulations for every strategy
+     */
+    private static void runAll() {
         // run the strategy that uses the first available element of the set as the next guess
         System.out.println("==== Using \"first available\" Strategy ====");
         runGameSims(100, Strategy.RANDOM);
@@ -15,66 +75,424 @@ public class MastermindTest {
         System.out.println("==== Using Minimax (Knuth-based) Strategy ====");
         System.out.println("WARNING: May take a long time to complete.");
         runGameSims(100, Strategy.MINIMAX);
+
+        System.out.println();
+
+        // runs minimax choosing from every code as Knuth does, rather than only those which could be the solution
+        System.out.println("==== Using Full Minimax (Knuth) Strategy ====");
+        System.out.println("WARNING: May take a long time to complete.");
+        runGameSims(4, 6, 100, Strategy.MINIMAX, true);
+
+        System.out.println();
+
+        // runs the strategies that rate guesses by other properties of the partitions they make
+        System.out.println("==== Using Maximum Entropy Strategy ====");
+        runGameSims(100, Strategy.ENTROPY);
+
+        System.out.println();
+
+        System.out.println("==== Using Minimum Expected Size Strategy ====");
+        runGameSims(100, Strategy.EXPECTED_SIZE);
+
+        System.out.println();
+
+        System.out.println("==== Using Most Parts Strategy ====");
+        runGameSims(100, Strategy.MOST_PARTS);
+
+        System.out.println();
+
+        // compiles minimax into a decision tree once, then plays every game by walking down it
+        System.out.println("==== Using Precompiled Minimax Decision Tree ====");
+        runTreeSims(4, 6, 100, Strategy.MINIMAX, false);
+
+        System.out.println();
+
+        // plays every solution at once, choosing each guess once for all the games that share it
+        System.out.println("==== Using Batch Minimax Strategy ====");
+        runBatchSims(5, 6, Strategy.MINIMAX);
+
+        System.out.println();
+
+        // compares minimax rating samples of the guesses and solutions with the exact version on a larger board
+        System.out.println("==== Using Sampled Minimax Strategy ====");
+        runSamplingSims(5, 8, 97, new Sampling(SAMPLE_GUESSES, SAMPLE_SECRETS, SEED));
+
+        System.out.println();
+
+        // sweeps the budget of a minimax search which settles for the best guess found so far when it runs out
+        System.out.println("==== Using Anytime Minimax Strategy ====");
+        runBudgetSims(6, 8, 10487, new int[] {1, 10, 100}, new long[] {2, 10});
+
+        System.out.println();
+
+        // more holes than a code can be batch scored with, so every guess is scored one pair at a time
+        System.out.println("==== Using Minimax Strategy on a Long Board ====");
+        System.out.println("Playing every 8191th solution on 16 holes and 2 colours");
+        printSpread(playSpread(16, 2, 8191, null, () -> Budget.UNLIMITED));
     }
 
     /**
-     * Run the game simulation set a given number of times for each strategy
+     * Plays a spread of the possible solutions with minimax searches given a range of budgets, printing a table of the
+     * number of guesses taken against the time taken to choose each one that can be plotted
      *
-     * Example: If we have 4 holes, 6 colours at 100 runs a total of 6^4 * 100 = 129600 games would be run
+     * @param holes         The number of holes that pegs can be placed in
+     * @param colours       The number of colours that can be guessed
+     * @param step          The gap between the solutions played, 1 to play every one
+     * @param evaluations   The numbers of guesses to rate each turn
+     * @param millis        The times allowed for each turn in milliseconds
+     */
+    private static void runBudgetSims(int holes, int colours, int step, int[] evaluations, long[] millis) {
+        System.out.println("Playing every " + step + "th solution on " + holes + " holes and " + colours + " colours");
+        System.out.println("budget,average_guesses,max_guesses,ms_per_guess,slowest_ms,coverage");
+        for (int budget : evaluations) {
+            printBudget(budget + " guesses", playSpread(holes, colours, step, null, () -> Budget.evaluations(budget)));
+        }
+        for (long budget : millis) {
+            printBudget(budget + " ms", playSpread(holes, colours, step, null, () -> Budget.millis(budget)));
+        }
+        printBudget("unlimited", playSpread(holes, colours, step, null, () -> Budget.UNLIMITED));
+    }
+
+    /**
+     * Prints a row of the budget table
+     *
+     * @param budget    A description of the budget
+     * @param spread    The results of the games played with the budget
+     */
+    private static void printBudget(String budget, Spread spread) {
+        System.out.println(budget + "," + spread.stats.getAverageGuesses() + "," + spread.stats.getMaxGuesses() + ","
+                + spread.getAverageMillis() + "," + spread.slowest / 1e6 + "," + spread.getAverageCoverage());
+    }
+
+    /**
+     * Plays a spread of the possible solutions with exact minimax and then with minimax rating random samples, and
+     * compares the number of guesses taken and the time taken to choose each one
      *
      * @param holes     The number of holes that pegs can be placed in
      * @param colours   The number of colours that can be guessed
-     * @param runs      The total number of simulation runs
-     * @param strategy  The strategy type to use
+     * @param step      The gap between the solutions played, 1 to play every one
+     * @param sampling  The sizes and seed of the samples
      */
-    private static void runGameSims(int holes, int colours, int runs, Strategy strategy) {
-        int maxGuesses = 0;
-        int totalOfGuesses = 0;
-        int numOfRounds = 0;
+    private static void runSamplingSims(int holes, int colours, int step, Sampling sampling) {
+        System.out.println("Playing every " + step + "th solution on " + holes + " holes and " + colours + " colours");
+        System.out.println("-- Exact --");
+        printSpread(playSpread(holes, colours, step, null, () -> Budget.UNLIMITED));
+        System.out.println("-- Sampling " + sampling + " --");
+        printSpread(playSpread(holes, colours, step, sampling, () -> Budget.UNLIMITED));
+    }
 
-        // play the game runs times for every single possible solution
-        for (int i = 0; i < runs; ++i) {
-            System.out.print("Running game set " + (i+1) + " of " + runs + "...");
+    /**
+     * Prints the number of guesses and time taken by a spread of games
+     *
+     * @param spread    The results of the games
+     */
+    private static void printSpread(Spread spread) {
+        System.out.println("The average number of guesses is: " + spread.stats.getAverageGuesses());
+        System.out.println("The maximum number of guesses is: " + spread.stats.getMaxGuesses());
+        System.out.println("The average time per guess is: " + spread.getAverageMillis() + " ms");
+        System.out.println("The slowest guess took: " + spread.slowest / 1e6 + " ms");
+    }
 
-            // create a new Mastermind object
-            Mastermind mastermind = new Mastermind(holes, colours, strategy);
+    /**
+     * Plays minimax against a spread of the possible solutions, timing every guess
+     *
+     * @param holes     The number of holes that pegs can be placed in
+     * @param colours   The number of colours that can be guessed
+     * @param step      The gap between the solutions played, 1 to play every one
+     * @param sampling  The sizes and seed of the samples, or null to search exhaustively
+     * @param budget    Gives the budget for each guess as it is made
+     * @return          The results of the games
+     */
+    private static Spread playSpread(int holes, int colours, int step, Sampling sampling, Supplier<Budget> budget) {
+        Spread spread = new Spread();
+        // no guess cache, so that every guess is searched for within its budget
+        Mastermind mastermind = new Mastermind(holes, colours, Strategy.MINIMAX, THREADS, false, null, sampling);
 
-            // get a list of all possible options
-            Set<int[]> allPossibilities = mastermind.getAllPossibilities();
+        for (int p = 0; p < Codes.count(holes, colours); p += step) {
+            mastermind.setHiddenGuess(p);
 
-            // for every possible combination see how many guesses it takes to reach solution
-            for (int[] possibility : allPossibilities) {
-                // set the hidden guess to the current possible combination
-                mastermind.setHiddenGuess(possibility);
+            int currentGuesses = 0;
+            boolean solved;
+            do {
+                long start = System.nanoTime();
+                solved = mastermind.guess(budget.get());
+                long elapsed = System.nanoTime() - start;
+                spread.total += elapsed;
+                spread.slowest = Math.max(spread.slowest, elapsed);
+                spread.coverage += mastermind.getLastCoverage();
+                ++currentGuesses;
+            } while (!solved);
 
-                // record the number of guesses to reach right answer for this possibility
-                int currentGuesses = 0;
+            spread.stats.record(currentGuesses);
+        }
 
-                // keep guessing until we get the right answer
-                do {
-                    ++currentGuesses;
-                } while (!mastermind.guess());
+        return spread;
+    }
 
-                // add the number of guesses to our list of all guesses made
-                totalOfGuesses += currentGuesses;
+    /**
+     * Run the game simulation set a given number of times for each strategy
+     *
+     * Example: If we have 4 holes, 6 colours at 100 runs a total of 6^4 * 100 = 129600 games would be run
+     *
+     * Within each set the possible solutions are split between the workers, each of which plays its share on its own
+     * Mastermind object, and the statistics from every worker are merged at the end
+     *
+     * @param holes         The number of holes that pegs can be placed in
+     * @param colours       The number of colours that can be guessed
+     * @param runs          The total number of simulation runs
+     * @param strategy      The strategy type to use
+     * @param fullSearch    True to choose guesses from every code, false to only choose ones which could be the solution
+     */
+    private static void runGameSims(int holes, int colours, int runs, Strategy strategy, boolean fullSearch) {
+        GameStats stats = new GameStats();
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+        // every worker shares one cache, since they all play with the same settings
+        GuessCache cache = CACHE_ENTRIES > 0 ? new GuessCache(CACHE_ENTRIES) : null;
+        Progress progress = new Progress();
+        SolverMetrics.reset();
+        long start = System.nanoTime();
+
+        try {
+            // play the game runs times for every single possible solution
+            for (int i = 0; i < runs; ++i) {
+                progress.start("Running game set " + (i+1) + " of " + runs + "...");
+                stats.merge(playAllSolutions(workers, holes, colours, strategy, fullSearch, cache, i + 1, progress));
+                progress.print();
+                System.out.println(" done!");
+            }
+        }
+        finally {
+            workers.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // print out our calculated values
+        System.out.println("The average number of guesses is: " + stats.getAverageGuesses());
+        System.out.println("The maximum number of guesses is: " + stats.getMaxGuesses());
+        System.out.println("The average time per game is: " + (elapsed / 1e6) / stats.getGames() + " ms");
+        System.out.println("The average time per guess is: " + (elapsed / 1e6) / stats.getTotalGuesses() + " ms");
+        if (cache != null) {
+            System.out.println("The guess cache had " + cache.getHits() + " hits and " + cache.getMisses() + " misses");
+        }
+        if (SolverMetrics.ENABLED) {
+            System.out.println(SolverMetrics.snapshot());
+        }
+    }
 
-                // if we exceeded the previous maximum number of guesses update to the new one
-                if (currentGuesses > maxGuesses) {
-                    maxGuesses = currentGuesses;
+    /**
+     * Plays one game for every possible solution, sharing the solutions out between the workers
+     *
+     * @param workers       The threads to play the games on
+     * @param holes         The number of holes that pegs can be placed in
+     * @param colours       The number of colours that can be guessed
+     * @param strategy      The strategy type to use
+     * @param fullSearch    True to choose guesses from every code, false to only choose ones which could be the solution
+     * @param cache         The cache of guesses shared by the workers, or null for none
+     * @param set           The number of the game set, from 1
+     * @param progress      The count of games played, which is printed every so often while waiting
+     * @return              The merged statistics of every game
+     */
+    private static GameStats playAllSolutions(ExecutorService workers, int holes, int colours, Strategy strategy, boolean fullSearch,
+                                              GuessCache cache, int set, Progress progress) {
+        int solutions = Codes.count(holes, colours);
+        int shards = Math.min(WORKERS, solutions);
+
+        // give each worker a contiguous range of the solutions
+        List<Future<GameStats>> futures = new ArrayList<>();
+        for (int s = 0; s < shards; ++s) {
+            int from = (int) ((long) solutions * s / shards);
+            int to = (int) ((long) solutions * (s + 1) / shards);
+            futures.add(workers.submit(() -> playSolutions(holes, colours, strategy, fullSearch, cache, set, progress, from, to)));
+        }
+
+        GameStats stats = new GameStats();
+        try {
+            for (Future<GameStats> result : futures) {
+                // update the progress line every so often until this worker is finished
+                while (true) {
+                    try {
+                        stats.merge(result.get(PROGRESS_MILLIS, TimeUnit.MILLISECONDS));
+                        break;
+                    }
+                    catch (TimeoutException e) {
+                        progress.print();
+                    }
                 }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running game simulations.", e);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Game simulation failed.", e.getCause());
+        }
+        return stats;
+    }
 
-                // increment number of rounds we have played
-                ++numOfRounds;
+    /**
+     * Plays one game for each of a range of the possible solutions
+     *
+     * @param holes         The number of holes that pegs can be placed in
+     * @param colours       The number of colours that can be guessed
+     * @param strategy      The strategy type to use
+     * @param fullSearch    True to choose guesses from every code, false to only choose ones which could be the solution
+     * @param cache         The cache of guesses shared by the workers, or null for none
+     * @param set           The number of the game set, from 1
+     * @param progress      The count of games played, added to as each game finishes
+     * @param from          The position of the first solution to play
+     * @param to            The position after the last solution to play
+     * @return              The statistics of the games played
+     */
+    private static GameStats playSolutions(int holes, int colours, Strategy strategy, boolean fullSearch, GuessCache cache,
+                                           int set, Progress progress, int from, int to) {
+        GameStats stats = new GameStats();
+
+        // create a new Mastermind object, which shares its feedback table and guess cache with the other workers
+        Mastermind mastermind = new Mastermind(holes, colours, strategy, THREADS, fullSearch, cache);
+
+        // for every possible combination in our range see how many guesses it takes to reach solution, walking through
+        // the code space by rank so that the combinations never need to be stored (the rank is the packed code)
+        for (int p = from; p < to; ++p) {
+            // set the hidden guess to the current possible combination
+            mastermind.setHiddenGuess(p);
+
+            // record the number of guesses to reach right answer for this possibility
+            int currentGuesses = 0;
+            long start = System.nanoTime();
+
+            // keep guessing until we get the right answer
+            do {
+                ++currentGuesses;
+            } while (!mastermind.guess());
+
+            stats.record(currentGuesses);
+            if (results != null) {
+                results.record(set, strategy, fullSearch, false, digits(p, holes, colours),
+                        currentGuesses, System.nanoTime() - start);
+            }
+            progress.finished();
+        }
+
+        return stats;
+    }
+
+    /**
+     * Run the game simulation set a given number of times by walking down a precompiled decision tree
+     *
+     * The tree is loaded from the cache directory, or compiled and saved there if it hasn't been already. Since the
+     * strategy is deterministic every run plays exactly the same games as runGameSims would
+     *
+     * @param holes         The number of holes that pegs can be placed in
+     * @param colours       The number of colours that can be guessed
+     * @param runs          The total number of simulation runs
+     * @param strategy      The strategy type to compile
+     * @param fullSearch    True to choose guesses from every code, false to only choose ones which could be the solution
+     */
+    private static void runTreeSims(int holes, int colours, int runs, Strategy strategy, boolean fullSearch) {
+        long start = System.nanoTime();
+        DecisionTree tree = DecisionTree.loadOrBuild(holes, colours, strategy, fullSearch);
+        System.out.println("Loaded decision tree of " + tree.size() + " nodes in " + (System.nanoTime() - start) / 1e6 + " ms");
+
+        GameStats stats = new GameStats();
+        TreePlayer player = new TreePlayer(tree);
+        Feedback feedback = Feedback.forBoard(holes, colours);
+        int solutions = Codes.count(holes, colours);
+        start = System.nanoTime();
+
+        // play the game runs times for every single possible solution
+        for (int i = 0; i < runs; ++i) {
+            for (int secret = 0; secret < solutions; ++secret) {
+                long gameStart = System.nanoTime();
+                player.reset();
+                do {
+                    int outcome = feedback.outcome(player.nextGuess(), secret);
+                    player.submitFeedback(FeedbackTable.blacksOf(holes, outcome), FeedbackTable.whitesOf(holes, outcome));
+                } while (!player.isSolved());
+                stats.record(player.getNumGuesses());
+                if (results != null) {
+                    results.record(i + 1, strategy, fullSearch, true, digits(secret, holes, colours),
+                            player.getNumGuesses(), System.nanoTime() - gameStart);
+                }
             }
-            System.out.println("done!");
         }
+        if (results != null) {
+            results.flush();
+        }
+        long elapsed = System.nanoTime() - start;
 
-        // get the average of all rounds of guesses
-        double averageGuesses = ((double)totalOfGuesses)/numOfRounds;
+        // a single walk over the tree gives the same figures without playing any games
+        int[] counts = tree.guessCounts();
+        long total = 0;
+        for (int guesses = 0; guesses < counts.length; ++guesses) {
+            total += (long) guesses * counts[guesses];
+        }
 
         // print out our calculated values
-        System.out.println("The average number of guesses is: " + averageGuesses);
-        System.out.println("The maximum number of guesses is: " + maxGuesses);
+        System.out.println("The average number of guesses is: " + stats.getAverageGuesses());
+        System.out.println("The maximum number of guesses is: " + stats.getMaxGuesses());
+        System.out.println("The average number of guesses from the tree walk is: " + (double) total / solutions);
+        System.out.println("The average time per game is: " + (elapsed / 1e6) / stats.getGames() + " ms");
+        System.out.println("The average time per guess is: " + (elapsed / 1e6) / stats.getTotalGuesses() + " ms");
+    }
+
+    /**
+     * Plays every possible solution once as a batch and once game by game, checking that each solution takes the same
+     * number of guesses both ways and comparing the time taken
+     *
+     * @param holes     The number of holes that pegs can be placed in
+     * @param colours   The number of colours that can be guessed
+     * @param strategy  The strategy type to use
+     */
+    private static void runBatchSims(int holes, int colours, Strategy strategy) {
+        CodeSet secrets = new CodeSpace(holes, colours).toCodeSet();
+        Solver solver = new Solver(holes, colours, strategy);
+
+        long start = System.nanoTime();
+        int[] batch = BatchSolver.solve(solver, secrets);
+        long batchElapsed = System.nanoTime() - start;
+
+        // the games are played one at a time with a guess cache, so that each still only searches for a guess once
+        GuessCache cache = CACHE_ENTRIES > 0 ? new GuessCache(CACHE_ENTRIES) : null;
+        Mastermind mastermind = new Mastermind(holes, colours, strategy, THREADS, false, cache);
+        GameStats stats = new GameStats();
+        int differences = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < secrets.size(); ++i) {
+            mastermind.setHiddenGuess(secrets.get(i));
+            int currentGuesses = 0;
+            do {
+                ++currentGuesses;
+            } while (!mastermind.guess());
+            stats.record(batch[i]);
+            if (currentGuesses != batch[i]) {
+                ++differences;
+            }
+        }
+        long gameElapsed = System.nanoTime() - start;
+
+        System.out.println("Playing all " + secrets.size() + " solutions on " + holes + " holes and " + colours + " colours");
+        System.out.println("The average number of guesses is: " + stats.getAverageGuesses());
+        System.out.println("The maximum number of guesses is: " + stats.getMaxGuesses());
+        System.out.println("The number of solutions played differently game by game is: " + differences);
+        System.out.println("The batch took: " + batchElapsed / 1e6 + " ms");
+        System.out.println("The games one at a time took: " + gameElapsed / 1e6 + " ms");
+    }
+
+    /**
+     * Writes a code as one digit per hole, so that it reads the same as the pegs on the board
+     *
+     * @param code      The packed code
+     * @param holes     The number of holes
+     * @param colours   The number of colours
+     * @return          The digits of the code, using letters for colours past 9
+     */
+    private static String digits(int code, int holes, int colours) {
+        StringBuilder digits = new StringBuilder(holes);
+        for (int colour : Codes.unpack(code, holes, colours)) {
+            digits.append(Character.forDigit(colour, Character.MAX_RADIX));
+        }
+        return digits.toString();
     }
 
     /**
@@ -84,6 +502,107 @@ public class MastermindTest {
      * @param strategy  The strategy type to use
      */
     private static void runGameSims(int runs, Strategy strategy) {
-        runGameSims(4, 6, runs, strategy);
+        runGameSims(4, 6, runs, strategy, false);
+    }
+
+    /**
+     * The results of a spread of games, with the time taken to choose each guess
+     */
+    private static class Spread {
+        /**
+         * The number of guesses taken in each game
+         */
+        private final GameStats stats = new GameStats();
+        /**
+         * The total time taken to make the guesses, in nanoseconds
+         */
+        private long total;
+        /**
+         * The longest time taken to make a guess, in nanoseconds
+         */
+        private long slowest;
+        /**
+         * The total fraction of the candidate guesses rated to make each guess
+         */
+        private double coverage;
+
+        /**
+         * Returns the average time taken to make a guess
+         *
+         * @return  The average time per guess in milliseconds
+         */
+        private double getAverageMillis() {
+            return (total / 1e6) / stats.getTotalGuesses();
+        }
+
+        /**
+         * Returns how much of the search was done for the average guess
+         *
+         * @return  The average fraction of the candidate guesses rated
+         */
+        private double getAverageCoverage() {
+            return coverage / stats.getTotalGuesses();
+        }
+    }
+
+    /**
+     * Keeps count of the games played in a run and prints a progress line with the rate they are being played at
+     */
+    private static class Progress {
+        /**
+         * The number of games finished so far
+         */
+        private final AtomicLong games = new AtomicLong();
+        /**
+         * When the run started, in nanoseconds
+         */
+        private final long start = System.nanoTime();
+        /**
+         * When the progress line was last printed, in nanoseconds
+         */
+        private long lastTime = start;
+        /**
+         * The number of games finished when the progress line was last printed
+         */
+        private long lastGames;
+        /**
+         * The text at the start of the progress line
+         */
+        private String label = "";
+
+        /**
+         * Starts a new progress line
+         *
+         * @param label     The text at the start of the line
+         */
+        private void start(String label) {
+            this.label = label;
+            System.out.print(label);
+        }
+
+        /**
+         * Counts a finished game, which may be called from any thread
+         */
+        private void finished() {
+            games.incrementAndGet();
+        }
+
+        /**
+         * Prints the progress line over the top of the last one, with the rate since it was last printed and overall,
+         * and writes out any buffered results so they can be followed
+         */
+        private void print() {
+            long now = System.nanoTime();
+            long done = games.get();
+            double recent = now > lastTime ? (done - lastGames) * 1e9 / (now - lastTime) : 0;
+            double overall = now > start ? done * 1e9 / (now - start) : 0;
+            System.out.print(String.format("\r%s %d games, %.1f games/s (%.1f overall)", label, done, recent, overall));
+            lastTime = now;
+            lastGames = done;
+
+            if (results != null) {
+                results.flush();
+            }
+        }
     }
 }
@@ -0,0 +1,91 @@
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams the result of every game to a file as it is played, one line per game
+ *
+ * Files ending in .jsonl or .json are written as JSON Lines and anything else as CSV with a header row. Lines go
+ * through a buffered writer which is flushed whenever flush() is called, so that a long run can be followed with tail
+ * while it is going. Games can be recorded from several threads at once
+ */
+public class ResultLog implements Closeable {
+    /**
+     * The file being written
+     */
+    private final BufferedWriter writer;
+    /**
+     * Whether lines are written as JSON rather than CSV
+     */
+    private final boolean json;
+
+    /**
+     * Constructor
+     *
+     * @param file  The file to write, which is replaced if it already exists
+     * @throws IOException  If the file cannot be opened
+     */
+    public ResultLog(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        json = name.endsWith(".jsonl") || name.endsWith(".json");
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        if (!json) {
+            writer.write("set,strategy,full_search,precompiled,secret,guesses,nanos");
+            writer.newLine();
+        }
+    }
+
+    /**
+     * Records the result of a single game
+     *
+     * @param set           The number of the game set the game was in, from 1
+     * @param strategy      The strategy used
+     * @param fullSearch    Whether guesses were chosen from every code
+     * @param precompiled   Whether the game was played from a precompiled decision tree
+     * @param secret        The hidden solution, as a string of colour digits
+     * @param guesses       The number of guesses taken to reach the solution
+     * @param nanos         The time taken to play the game in nanoseconds
+     */
+    public synchronized void record(int set, Strategy strategy, boolean fullSearch, boolean precompiled, String secret, int guesses, long nanos) {
+        try {
+            if (json) {
+                writer.write("{\"set\":" + set + ",\"strategy\":\"" + strategy + "\",\"full_search\":" + fullSearch
+                        + ",\"precompiled\":" + precompiled + ",\"secret\":\"" + secret + "\",\"guesses\":" + guesses
+                        + ",\"nanos\":" + nanos + "}");
+            }
+            else {
+                writer.write(set + "," + strategy + "," + fullSearch + "," + precompiled + "," + secret + "," + guesses + "," + nanos);
+            }
+            writer.newLine();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes out any buffered lines so that they can be seen in the file
+     */
+    public synchronized void flush() {
+        try {
+            writer.flush();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes out any buffered lines and closes the file
+     *
+     * @throws IOException  If the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -1,3 +0,0 @@
-public enum Strategy {
-    RANDOM, MINIMAX
-}
@@ -0,0 +1 @@
+memberSearchIndex = [{"p":"<Unnamed>","c":"DecisionTree.Builder","l":"add(CodeSet, int)","u":"add(CodeSet,int)"},{"p":"<Unnamed>","c":"CodeSet","l":"add(int)"},{"p":"<Unnamed>","c":"BatchSolver.Walker","l":"addToPartition(CodeSet[], int, int)","u":"addToPartition(CodeSet[],int,int)"},{"p":"<Unnamed>","c":"SolverMetrics.FilterEvent","l":"after"},{"p":"<Unnamed>","c":"SolverFactory","l":"allPossibilities"},{"p":"<Unnamed>","c":"SolverFactory","l":"allPossibilities()"},{"p":"<Unnamed>","c":"CodeSet","l":"array()"},{"p":"<Unnamed>","c":"TreePlayer","l":"awaitingFeedback"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"batch"},{"p":"<Unnamed>","c":"Feedback","l":"batch(CodeSet)"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"batchReady"},{"p":"<Unnamed>","c":"BatchScorer","l":"BatchScorer(CodeSet, int, int)","u":"%3Cinit%3E(CodeSet,int,int)"},{"p":"<Unnamed>","c":"BatchSolver","l":"BatchSolver()","u":"%3Cinit%3E()"},{"p":"<Unnamed>","c":"SolverMetrics.FilterEvent","l":"before"},{"p":"<Unnamed>","c":"PartitionSearch","l":"best(CodeSet, int, int, CodeSet, long[], BatchScorer, int[], Thread)","u":"best(CodeSet,int,int,CodeSet,long[],BatchScorer,int[],java.lang.Thread)"},{"p":"<Unnamed>","c":"Candidates","l":"bits"},{"p":"<Unnamed>","c":"PartitionSearch","l":"bitset(CodeSet)"},{"p":"<Unnamed>","c":"Scorer","l":"blacks(int)"},{"p":"<Unnamed>","c":"FeedbackTable","l":"blacksOf(int, int)","u":"blacksOf(int,int)"},{"p":"<Unnamed>","c":"Budget","l":"Budget(long, int, boolean)","u":"%3Cinit%3E(long,int,boolean)"},{"p":"<Unnamed>","c":"DecisionTree","l":"build(Solver)"},{"p":"<Unnamed>","c":"DecisionTree.Builder","l":"Builder(Solver, Feedback, int)","u":"%3Cinit%3E(Solver,Feedback,int)"},{"p":"<Unnamed>","c":"Solver","l":"cache"},{"p":"<Unnamed>","c":"SolverFactory","l":"cache"},{"p":"<Unnamed>","c":"MastermindTest","l":"CACHE_ENTRIES"},{"p":"<Unnamed>","c":"FeedbackTable","l":"CACHE_PROPERTY"},{"p":"<Unnamed>","c":"FeedbackTable","l":"cacheDirectory()"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"cachedWords"},{"p":"<Unnamed>","c":"PartitionSearch.Choice","l":"candidates"},{"p":"<Unnamed>","c":"SolverMetrics.GuessEvent","l":"candidates"},{"p":"<Unnamed>","c":"Candidates","l":"Candidates(CodeSpace, Feedback)","u":"%3Cinit%3E(CodeSpace,Feedback)"},{"p":"<Unnamed>","c":"GuessCache","l":"capacity"},{"p":"<Unnamed>","c":"GameSession","l":"checkGuessAllowed()"},{"p":"<Unnamed>","c":"DecisionTree.Builder","l":"children"},{"p":"<Unnamed>","c":"DecisionTree","l":"children"},{"p":"<Unnamed>","c":"PartitionSearch.Choice","l":"Choice(int, int, int)","u":"%3Cinit%3E(int,int,int)"},{"p":"<Unnamed>","c":"PartitionSearch","l":"choose(CodeSet)"},{"p":"<Unnamed>","c":"PartitionSearch","l":"choose(CodeSet, CodeSet)","u":"choose(CodeSet,CodeSet)"},{"p":"<Unnamed>","c":"PartitionSearch","l":"choose(CodeSet, CodeSet, CodeSet)","u":"choose(CodeSet,CodeSet,CodeSet)"},{"p":"<Unnamed>","c":"PartitionSearch","l":"choose(CodeSet, CodeSet, CodeSet, Budget)","u":"choose(CodeSet,CodeSet,CodeSet,Budget)"},{"p":"<Unnamed>","c":"Solver","l":"choose(CodeSet, CodeSet, CodeSet, Budget)","u":"choose(CodeSet,CodeSet,CodeSet,Budget)"},{"p":"<Unnamed>","c":"Solver","l":"chooseGuess(CodeSet, int[], int)","u":"chooseGuess(CodeSet,int[],int)"},{"p":"<Unnamed>","c":"Solver","l":"chooseGuess(CodeSet, int[], int, Budget)","u":"chooseGuess(CodeSet,int[],int,Budget)"},{"p":"<Unnamed>","c":"Solver","l":"chooseNextGuess()"},{"p":"<Unnamed>","c":"Solver","l":"chooseNextGuess(Budget)"},{"p":"<Unnamed>","c":"CodeSet","l":"clear()"},{"p":"<Unnamed>","c":"GuessCache","l":"clear()"},{"p":"<Unnamed>","c":"ResultLog","l":"close()"},{"p":"<Unnamed>","c":"CodeBits","l":"CodeBits(int)","u":"%3Cinit%3E(int)"},{"p":"<Unnamed>","c":"Candidates","l":"codes"},{"p":"<Unnamed>","c":"CodeSet","l":"codes"},{"p":"<Unnamed>","c":"Candidates","l":"codes()"},{"p":"<Unnamed>","c":"CodeSpace","l":"codes()"},{"p":"<Unnamed>","c":"Codes","l":"Codes()","u":"%3Cinit%3E()"},{"p":"<Unnamed>","c":"CodeSet","l":"CodeSet(CodeSet)","u":"%3Cinit%3E(CodeSet)"},{"p":"<Unnamed>","c":"CodeSet","l":"CodeSet(int)","u":"%3Cinit%3E(int)"},{"p":"<Unnamed>","c":"CodeSpace","l":"CodeSpace(int, int)","u":"%3Cinit%3E(int,int)"},{"p":"<Unnamed>","c":"BatchScorer","l":"colours"},{"p":"<Unnamed>","c":"CodeSpace","l":"colours"},{"p":"<Unnamed>","c":"DecisionTree","l":"colours"},{"p":"<Unnamed>","c":"FeedbackTable","l":"colours"},{"p":"<Unnamed>","c":"Mastermind","l":"colours"},{"p":"<Unnamed>","c":"Solver","l":"colours"},{"p":"<Unnamed>","c":"SolverFactory","l":"colours"},{"p":"<Unnamed>","c":"Symmetry","l":"colours"},{"p":"<Unnamed>","c":"FeedbackTable","l":"compute(int, int)","u":"compute(int,int)"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"computeAll(int)"},{"p":"<Unnamed>","c":"CodeBits","l":"contains(int)"},{"p":"<Unnamed>","c":"CodeSpace","l":"contains(int)"},{"p":"<Unnamed>","c":"CodeBits","l":"copyFrom(CodeBits)"},{"p":"<Unnamed>","c":"CodeSet","l":"copyFrom(CodeSet)"},{"p":"<Unnamed>","c":"CodeBits","l":"copyFrom(long[])"},{"p":"<Unnamed>","c":"CodeBits","l":"copyTo(CodeSet)"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"count"},{"p":"<Unnamed>","c":"Symmetry","l":"count"},{"p":"<Unnamed>","c":"Codes","l":"count(int, int)","u":"count(int,int)"},{"p":"<Unnamed>","c":"CodeBits","l":"countCommon(long[])"},{"p":"<Unnamed>","c":"BatchScorer","l":"counts"},{"p":"<Unnamed>","c":"BatchSolver.Walker","l":"counts"},{"p":"<Unnamed>","c":"MastermindTest.Spread","l":"coverage"},{"p":"<Unnamed>","c":"PartitionSearch","l":"criterion"},{"p":"<Unnamed>","c":"Criterion","l":"Criterion()","u":"%3Cinit%3E()"},{"p":"<Unnamed>","c":"SolverFactory","l":"criterion(Strategy)"},{"p":"<Unnamed>","c":"Budget","l":"deadline"},{"p":"<Unnamed>","c":"DecisionTree","l":"DecisionTree(int, int, Strategy, boolean, int, int[], int[])","u":"%3Cinit%3E(int,int,Strategy,boolean,int,int[],int[])"},{"p":"<Unnamed>","c":"Candidates","l":"DENSE_LIMIT"},{"p":"<Unnamed>","c":"BatchScorer","l":"digits"},{"p":"<Unnamed>","c":"Symmetry","l":"digits"},{"p":"<Unnamed>","c":"MastermindTest","l":"digits(int, int, int)","u":"digits(int,int,int)"},{"p":"<Unnamed>","c":"Feedback","l":"direct(int, int)","u":"direct(int,int)"},{"p":"<Unnamed>","c":"SolverMetrics","l":"ENABLED"},{"p":"<Unnamed>","c":"GuessCache","l":"entries"},{"p":"<Unnamed>","c":"Criterion","l":"ENTROPY"},{"p":"<Unnamed>","c":"Strategy","l":"ENTROPY"},{"p":"<Unnamed>","c":"Criterion","l":"ENTROPY_SCALE"},{"p":"<Unnamed>","c":"GuessCache.Fingerprint","l":"equals(Object)","u":"equals(java.lang.Object)"},{"p":"<Unnamed>","c":"PartitionSearch.Choice","l":"evaluated"},{"p":"<Unnamed>","c":"SolverMetrics.GuessEvent","l":"evaluated"},{"p":"<Unnamed>","c":"Budget","l":"evaluations"},{"p":"<Unnamed>","c":"Budget","l":"evaluations(int)"},{"p":"<Unnamed>","c":"SolverMetrics","l":"EVENTS"},{"p":"<Unnamed>","c":"Criterion","l":"EXPECTED_SIZE"},{"p":"<Unnamed>","c":"Strategy","l":"EXPECTED_SIZE"},{"p":"<Unnamed>","c":"Solver","l":"factory"},{"p":"<Unnamed>","c":"BatchSolver.Walker","l":"feedback"},{"p":"<Unnamed>","c":"Candidates","l":"feedback"},{"p":"<Unnamed>","c":"DecisionTree.Builder","l":"feedback"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"feedback"},{"p":"<Unnamed>","c":"PartitionSearch","l":"feedback"},{"p":"<Unnamed>","c":"Solver","l":"feedback"},{"p":"<Unnamed>","c":"SolverFactory","l":"feedback"},{"p":"<Unnamed>","c":"FeedbackTable","l":"FeedbackTable(int, int, ByteBuffer)","u":"%3Cinit%3E(int,int,java.nio.ByteBuffer)"},{"p":"<Unnamed>","c":"Candidates","l":"filled"},{"p":"<Unnamed>","c":"CodeSpace","l":"filter(IntPredicate, CodeSet)","u":"filter(java.util.function.IntPredicate,CodeSet)"},{"p":"<Unnamed>","c":"SolverMetrics","l":"filtered(int)"},{"p":"<Unnamed>","c":"SolverMetrics.FilterEvent","l":"FilterEvent()","u":"%3Cinit%3E()"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"filters"},{"p":"<Unnamed>","c":"SolverMetrics","l":"FILTERS"},{"p":"<Unnamed>","c":"Symmetry","l":"findSymmetries(int[], int)","u":"findSymmetries(int[],int)"},{"p":"<Unnamed>","c":"BatchScorer","l":"findVector()"},{"p":"<Unnamed>","c":"GuessCache","l":"fingerprint(CodeSet)"},{"p":"<Unnamed>","c":"GuessCache.Fingerprint","l":"Fingerprint(long, long, int)","u":"%3Cinit%3E(long,long,int)"},{"p":"<Unnamed>","c":"MastermindTest.Progress","l":"finished()"},{"p":"<Unnamed>","c":"Solver","l":"firstGuess"},{"p":"<Unnamed>","c":"SolverFactory","l":"firstGuess"},{"p":"<Unnamed>","c":"FeedbackTable","l":"fits(int, int)","u":"fits(int,int)"},{"p":"<Unnamed>","c":"ResultLog","l":"flush()"},{"p":"<Unnamed>","c":"Feedback","l":"forBoard(int, int)","u":"forBoard(int,int)"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"forBoard(int, int)","u":"forBoard(int,int)"},{"p":"<Unnamed>","c":"Symmetry","l":"forced"},{"p":"<Unnamed>","c":"BatchScorer","l":"forCodes(CodeSet, int, int)","u":"forCodes(CodeSet,int,int)"},{"p":"<Unnamed>","c":"Symmetry","l":"free"},{"p":"<Unnamed>","c":"Symmetry","l":"freeMap"},{"p":"<Unnamed>","c":"DecisionTree","l":"fullSearch"},{"p":"<Unnamed>","c":"Solver","l":"fullSearch"},{"p":"<Unnamed>","c":"SolverFactory","l":"fullSearch"},{"p":"<Unnamed>","c":"GameStats","l":"games"},{"p":"<Unnamed>","c":"MastermindTest.Progress","l":"games"},{"p":"<Unnamed>","c":"GameSession","l":"GameSession(Solver)","u":"%3Cinit%3E(Solver)"},{"p":"<Unnamed>","c":"GameStats","l":"GameStats()","u":"%3Cinit%3E()"},{"p":"<Unnamed>","c":"SolverFactory","l":"generateFirstGuess(int, int)","u":"generateFirstGuess(int,int)"},{"p":"<Unnamed>","c":"GuessCache","l":"get(GuessCache.Fingerprint)"},{"p":"<Unnamed>","c":"CodeSet","l":"get(int)"},{"p":"<Unnamed>","c":"Solver","l":"getAllPossibilities()"},{"p":"<Unnamed>","c":"MastermindTest.Spread","l":"getAverageCoverage()"},{"p":"<Unnamed>","c":"GameStats","l":"getAverageGuesses()"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"getAverageGuessMillis()"},{"p":"<Unnamed>","c":"MastermindTest.Spread","l":"getAverageMillis()"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"getAverageRemaining(int)"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"getAverageSearchMillis()"},{"p":"<Unnamed>","c":"SolverFactory","l":"getCache()"},{"p":"<Unnamed>","c":"PartitionSearch.Choice","l":"getCandidates()"},{"p":"<Unnamed>","c":"GuessCache","l":"getCapacity()"},{"p":"<Unnamed>","c":"Mastermind","l":"getCodeSpace()"},{"p":"<Unnamed>","c":"Solver","l":"getCodeSpace()"},{"p":"<Unnamed>","c":"SolverFactory","l":"getCodeSpace()"},{"p":"<Unnamed>","c":"CodeSpace","l":"getColours()"},{"p":"<Unnamed>","c":"DecisionTree","l":"getColours()"},{"p":"<Unnamed>","c":"FeedbackTable","l":"getColours()"},{"p":"<Unnamed>","c":"GameSession","l":"getColours()"},{"p":"<Unnamed>","c":"Solver","l":"getColours()"},{"p":"<Unnamed>","c":"SolverFactory","l":"getColours()"},{"p":"<Unnamed>","c":"PartitionSearch.Choice","l":"getCoverage()"},{"p":"<Unnamed>","c":"PartitionSearch.Choice","l":"getEvaluated()"},{"p":"<Unnamed>","c":"Solver","l":"getFeedback()"},{"p":"<Unnamed>","c":"SolverFactory","l":"getFeedback()"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"getFilterPasses()"},{"p":"<Unnamed>","c":"Solver","l":"getFirstGuess()"},{"p":"<Unnamed>","c":"SolverFactory","l":"getFirstGuess()"},{"p":"<Unnamed>","c":"GameStats","l":"getGames()"},{"p":"<Unnamed>","c":"PartitionSearch.Choice","l":"getGuess()"},{"p":"<Unnamed>","c":"Sampling","l":"getGuesses()"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"getGuesses()"},{"p":"<Unnamed>","c":"GuessCache","l":"getHits()"},{"p":"<Unnamed>","c":"CodeSpace","l":"getHoles()"},{"p":"<Unnamed>","c":"DecisionTree","l":"getHoles()"},{"p":"<Unnamed>","c":"FeedbackTable","l":"getHoles()"},{"p":"<Unnamed>","c":"GameSession","l":"getHoles()"},{"p":"<Unnamed>","c":"Solver","l":"getHoles()"},{"p":"<Unnamed>","c":"SolverFactory","l":"getHoles()"},{"p":"<Unnamed>","c":"Mastermind","l":"getLastCoverage()"},{"p":"<Unnamed>","c":"GameStats","l":"getMaxGuesses()"},{"p":"<Unnamed>","c":"Solver","l":"getMinMaxedGuess(CodeSet, int[], int, Budget)","u":"getMinMaxedGuess(CodeSet,int[],int,Budget)"},{"p":"<Unnamed>","c":"GuessCache","l":"getMisses()"},{"p":"<Unnamed>","c":"GameSession","l":"getNumGuesses()"},{"p":"<Unnamed>","c":"Solver","l":"getNumGuesses()"},{"p":"<Unnamed>","c":"TreePlayer","l":"getNumGuesses()"},{"p":"<Unnamed>","c":"Solver","l":"getPartitionedGuess(CodeSet, int[], int, Budget)","u":"getPartitionedGuess(CodeSet,int[],int,Budget)"},{"p":"<Unnamed>","c":"Solver","l":"getRandomGuess(CodeSet)"},{"p":"<Unnamed>","c":"GameSession","l":"getRemainingCount()"},{"p":"<Unnamed>","c":"Solver","l":"getRemainingCount()"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"getRemoved()"},{"p":"<Unnamed>","c":"Solver","l":"getSampledGuess(CodeSet, int[], int, Budget)","u":"getSampledGuess(CodeSet,int[],int,Budget)"},{"p":"<Unnamed>","c":"Solver","l":"getSampling()"},{"p":"<Unnamed>","c":"SolverFactory","l":"getSampling()"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"getScorings()"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"getSearches()"},{"p":"<Unnamed>","c":"Sampling","l":"getSecrets()"},{"p":"<Unnamed>","c":"Sampling","l":"getSeed()"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"getSlowestGuessMillis()"},{"p":"<Unnamed>","c":"DecisionTree","l":"getStrategy()"},{"p":"<Unnamed>","c":"Solver","l":"getStrategy()"},{"p":"<Unnamed>","c":"SolverFactory","l":"getStrategy()"},{"p":"<Unnamed>","c":"GameStats","l":"getTotalGuesses()"},{"p":"<Unnamed>","c":"PartitionSearch.Choice","l":"guess"},{"p":"<Unnamed>","c":"SolverMetrics.FilterEvent","l":"guess"},{"p":"<Unnamed>","c":"SolverMetrics.GuessEvent","l":"guess"},{"p":"<Unnamed>","c":"SolverMetrics","l":"GUESS_NANOS"},{"p":"<Unnamed>","c":"Mastermind","l":"guess()"},{"p":"<Unnamed>","c":"Mastermind","l":"guess(Budget)"},{"p":"<Unnamed>","c":"DecisionTree","l":"guess(int)"},{"p":"<Unnamed>","c":"GuessCache","l":"GuessCache(int)","u":"%3Cinit%3E(int)"},{"p":"<Unnamed>","c":"DecisionTree","l":"guessCounts()"},{"p":"<Unnamed>","c":"SolverMetrics","l":"guessed(long)"},{"p":"<Unnamed>","c":"DecisionTree.Builder","l":"guesses"},{"p":"<Unnamed>","c":"DecisionTree","l":"guesses"},{"p":"<Unnamed>","c":"Sampling","l":"guesses"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"guesses"},{"p":"<Unnamed>","c":"SolverMetrics","l":"GUESSES"},{"p":"<Unnamed>","c":"SolverMetrics.GuessEvent","l":"GuessEvent()","u":"%3Cinit%3E()"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"guessNanos"},{"p":"<Unnamed>","c":"GuessCache.Fingerprint","l":"hashCode()"},{"p":"<Unnamed>","c":"FeedbackTable","l":"HEADER_SIZE"},{"p":"<Unnamed>","c":"Mastermind","l":"hiddenGuess"},{"p":"<Unnamed>","c":"GuessCache.Fingerprint","l":"high"},{"p":"<Unnamed>","c":"Symmetry","l":"history"},{"p":"<Unnamed>","c":"GuessCache","l":"hits"},{"p":"<Unnamed>","c":"BatchScorer","l":"holes"},{"p":"<Unnamed>","c":"CodeSpace","l":"holes"},{"p":"<Unnamed>","c":"DecisionTree","l":"holes"},{"p":"<Unnamed>","c":"FeedbackTable","l":"holes"},{"p":"<Unnamed>","c":"Mastermind","l":"holes"},{"p":"<Unnamed>","c":"Solver","l":"holes"},{"p":"<Unnamed>","c":"SolverFactory","l":"holes"},{"p":"<Unnamed>","c":"Symmetry","l":"holes"},{"p":"<Unnamed>","c":"Symmetry","l":"image"},{"p":"<Unnamed>","c":"InvalidGuessException","l":"InvalidGuessException()","u":"%3Cinit%3E()"},{"p":"<Unnamed>","c":"InvalidGuessException","l":"InvalidGuessException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"<Unnamed>","c":"Symmetry","l":"inverse"},{"p":"<Unnamed>","c":"PartitionSearch.Choice","l":"isComplete()"},{"p":"<Unnamed>","c":"CodeSet","l":"isEmpty()"},{"p":"<Unnamed>","c":"Budget","l":"isExhausted(int)"},{"p":"<Unnamed>","c":"Solver","l":"isFullSearch()"},{"p":"<Unnamed>","c":"SolverFactory","l":"isFullSearch()"},{"p":"<Unnamed>","c":"Symmetry","l":"isIdentity()"},{"p":"<Unnamed>","c":"Symmetry","l":"isLowest(int)"},{"p":"<Unnamed>","c":"Criterion","l":"isMonotone()"},{"p":"<Unnamed>","c":"GameSession","l":"isSolved()"},{"p":"<Unnamed>","c":"Solver","l":"isSolved()"},{"p":"<Unnamed>","c":"TreePlayer","l":"isSolved()"},{"p":"<Unnamed>","c":"Budget","l":"isUnlimited()"},{"p":"<Unnamed>","c":"FeedbackTable","l":"isValid(Path, int, int, long)","u":"isValid(java.nio.file.Path,int,int,long)"},{"p":"<Unnamed>","c":"BatchScorer","l":"isVectorised()"},{"p":"<Unnamed>","c":"ResultLog","l":"json"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"keep(Long, long[])","u":"keep(java.lang.Long,long[])"},{"p":"<Unnamed>","c":"MastermindTest.Progress","l":"label"},{"p":"<Unnamed>","c":"Mastermind","l":"lastBlacks"},{"p":"<Unnamed>","c":"Mastermind","l":"lastCoverage"},{"p":"<Unnamed>","c":"MastermindTest.Progress","l":"lastGames"},{"p":"<Unnamed>","c":"MastermindTest.Progress","l":"lastTime"},{"p":"<Unnamed>","c":"Mastermind","l":"lastWhites"},{"p":"<Unnamed>","c":"FeedbackTable","l":"load(int, int)","u":"load(int,int)"},{"p":"<Unnamed>","c":"FeedbackTable","l":"load(int, int, Path)","u":"load(int,int,java.nio.file.Path)"},{"p":"<Unnamed>","c":"DecisionTree","l":"load(Path)","u":"load(java.nio.file.Path)"},{"p":"<Unnamed>","c":"FeedbackTable","l":"LOADED"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"LOADED"},{"p":"<Unnamed>","c":"DecisionTree","l":"loadOrBuild(int, int, Strategy, boolean)","u":"loadOrBuild(int,int,Strategy,boolean)"},{"p":"<Unnamed>","c":"GuessCache.Fingerprint","l":"low"},{"p":"<Unnamed>","c":"DecisionTree","l":"MAGIC"},{"p":"<Unnamed>","c":"FeedbackTable","l":"MAGIC"},{"p":"<Unnamed>","c":"MastermindTest","l":"main(String[])","u":"main(java.lang.String[])"},{"p":"<Unnamed>","c":"Solver","l":"makeGuess(int)"},{"p":"<Unnamed>","c":"FeedbackTable","l":"map(Path, long)","u":"map(java.nio.file.Path,long)"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"mask(int, int)","u":"mask(int,int)"},{"p":"<Unnamed>","c":"Candidates","l":"masks"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"masks"},{"p":"<Unnamed>","c":"Mastermind","l":"Mastermind(int, int, Strategy)","u":"%3Cinit%3E(int,int,Strategy)"},{"p":"<Unnamed>","c":"Mastermind","l":"Mastermind(int, int, Strategy, int)","u":"%3Cinit%3E(int,int,Strategy,int)"},{"p":"<Unnamed>","c":"Mastermind","l":"Mastermind(int, int, Strategy, int, boolean)","u":"%3Cinit%3E(int,int,Strategy,int,boolean)"},{"p":"<Unnamed>","c":"Mastermind","l":"Mastermind(int, int, Strategy, int, boolean, GuessCache)","u":"%3Cinit%3E(int,int,Strategy,int,boolean,GuessCache)"},{"p":"<Unnamed>","c":"Mastermind","l":"Mastermind(int, int, Strategy, int, boolean, GuessCache, Sampling)","u":"%3Cinit%3E(int,int,Strategy,int,boolean,GuessCache,Sampling)"},{"p":"<Unnamed>","c":"MastermindTest","l":"MastermindTest()","u":"%3Cinit%3E()"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"MAX_CACHED_WORDS"},{"p":"<Unnamed>","c":"Scorer","l":"MAX_COLOURS"},{"p":"<Unnamed>","c":"FeedbackTable","l":"MAX_ENTRIES"},{"p":"<Unnamed>","c":"Scorer","l":"MAX_HOLES"},{"p":"<Unnamed>","c":"DecisionTree","l":"MAX_OUTCOMES"},{"p":"<Unnamed>","c":"Symmetry","l":"MAX_SYMMETRIES"},{"p":"<Unnamed>","c":"GameStats","l":"maxGuesses"},{"p":"<Unnamed>","c":"GameStats","l":"merge(GameStats)"},{"p":"<Unnamed>","c":"Budget","l":"millis(long)"},{"p":"<Unnamed>","c":"DecisionTree","l":"MIN_NODE_BYTES"},{"p":"<Unnamed>","c":"BatchScorer","l":"MIN_SIZE"},{"p":"<Unnamed>","c":"Strategy","l":"MINIMAX"},{"p":"<Unnamed>","c":"GuessCache","l":"misses"},{"p":"<Unnamed>","c":"GuessCache","l":"mix(long)"},{"p":"<Unnamed>","c":"Criterion","l":"MOST_PARTS"},{"p":"<Unnamed>","c":"Strategy","l":"MOST_PARTS"},{"p":"<Unnamed>","c":"SolverFactory","l":"newSession()"},{"p":"<Unnamed>","c":"SolverFactory","l":"newSolver()"},{"p":"<Unnamed>","c":"DecisionTree","l":"next(int, int)","u":"next(int,int)"},{"p":"<Unnamed>","c":"Solver","l":"nextConsistentGuess()"},{"p":"<Unnamed>","c":"GameSession","l":"nextGuess()"},{"p":"<Unnamed>","c":"Solver","l":"nextGuess()"},{"p":"<Unnamed>","c":"TreePlayer","l":"nextGuess()"},{"p":"<Unnamed>","c":"GameSession","l":"nextGuess(Budget)"},{"p":"<Unnamed>","c":"TreePlayer","l":"node"},{"p":"<Unnamed>","c":"DecisionTree.Builder","l":"nodes"},{"p":"<Unnamed>","c":"DecisionTree","l":"NONE"},{"p":"<Unnamed>","c":"Solver","l":"numGuesses"},{"p":"<Unnamed>","c":"TreePlayer","l":"numGuesses"},{"p":"<Unnamed>","c":"PartitionSearch.Choice","l":"of(int)"},{"p":"<Unnamed>","c":"SolverMetrics.FilterEvent","l":"outcome"},{"p":"<Unnamed>","c":"Feedback","l":"outcome(int, int)","u":"outcome(int,int)"},{"p":"<Unnamed>","c":"FeedbackTable","l":"outcome(int, int)","u":"outcome(int,int)"},{"p":"<Unnamed>","c":"FeedbackTable","l":"outcomeIndex(int, int, int)","u":"outcomeIndex(int,int,int)"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"OutcomeMasks(int, Feedback)","u":"%3Cinit%3E(int,Feedback)"},{"p":"<Unnamed>","c":"DecisionTree.Builder","l":"outcomes"},{"p":"<Unnamed>","c":"DecisionTree","l":"outcomes"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"outcomes"},{"p":"<Unnamed>","c":"Feedback","l":"outcomes()"},{"p":"<Unnamed>","c":"FeedbackTable","l":"outcomes()"},{"p":"<Unnamed>","c":"FeedbackTable","l":"outcomes(int)"},{"p":"<Unnamed>","c":"Codes","l":"pack(int[], int)","u":"pack(int[],int)"},{"p":"<Unnamed>","c":"PartitionSearch","l":"partition"},{"p":"<Unnamed>","c":"PartitionSearch","l":"PartitionSearch(Feedback)","u":"%3Cinit%3E(Feedback)"},{"p":"<Unnamed>","c":"PartitionSearch","l":"PartitionSearch(Feedback, Criterion, ForkJoinPool)","u":"%3Cinit%3E(Feedback,Criterion,java.util.concurrent.ForkJoinPool)"},{"p":"<Unnamed>","c":"PartitionSearch","l":"PartitionSearch(Feedback, Criterion, int)","u":"%3Cinit%3E(Feedback,Criterion,int)"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"partitionSizes(int, CodeBits, int[])","u":"partitionSizes(int,CodeBits,int[])"},{"p":"<Unnamed>","c":"BatchSolver.Walker","l":"path"},{"p":"<Unnamed>","c":"DecisionTree.Builder","l":"path"},{"p":"<Unnamed>","c":"PartitionSearch","l":"penalty(int, long[])","u":"penalty(int,long[])"},{"p":"<Unnamed>","c":"BatchSolver.Walker","l":"play(CodeSet, int[], int)","u":"play(CodeSet,int[],int)"},{"p":"<Unnamed>","c":"MastermindTest","l":"playAllSolutions(ExecutorService, int, int, Strategy, boolean, GuessCache, int, MastermindTest.Progress)","u":"playAllSolutions(java.util.concurrent.ExecutorService,int,int,Strategy,boolean,GuessCache,int,MastermindTest.Progress)"},{"p":"<Unnamed>","c":"MastermindTest","l":"playSolutions(int, int, Strategy, boolean, GuessCache, int, MastermindTest.Progress, int, int)","u":"playSolutions(int,int,Strategy,boolean,GuessCache,int,MastermindTest.Progress,int,int)"},{"p":"<Unnamed>","c":"MastermindTest","l":"playSpread(int, int, int, Sampling, Supplier<Budget>)","u":"playSpread(int,int,int,Sampling,java.util.function.Supplier)"},{"p":"<Unnamed>","c":"PartitionSearch","l":"pool"},{"p":"<Unnamed>","c":"SolverFactory","l":"pool"},{"p":"<Unnamed>","c":"PartitionSearch","l":"POOLS"},{"p":"<Unnamed>","c":"Symmetry","l":"position"},{"p":"<Unnamed>","c":"Symmetry","l":"positions"},{"p":"<Unnamed>","c":"MastermindTest.Progress","l":"print()"},{"p":"<Unnamed>","c":"MastermindTest","l":"printBudget(String, MastermindTest.Spread)","u":"printBudget(java.lang.String,MastermindTest.Spread)"},{"p":"<Unnamed>","c":"MastermindTest","l":"printSpread(MastermindTest.Spread)"},{"p":"<Unnamed>","c":"Solver","l":"prioritise(CodeSet, CodeSet)","u":"prioritise(CodeSet,CodeSet)"},{"p":"<Unnamed>","c":"MastermindTest","l":"PROGRESS_MILLIS"},{"p":"<Unnamed>","c":"MastermindTest.Progress","l":"Progress()","u":"%3Cinit%3E()"},{"p":"<Unnamed>","c":"GuessCache","l":"put(GuessCache.Fingerprint, int)","u":"put(GuessCache.Fingerprint,int)"},{"p":"<Unnamed>","c":"Strategy","l":"RANDOM"},{"p":"<Unnamed>","c":"Sampling","l":"random(CodeSet)"},{"p":"<Unnamed>","c":"CodeBits","l":"range(int)"},{"p":"<Unnamed>","c":"CodeSet","l":"range(int)"},{"p":"<Unnamed>","c":"CodeSpace","l":"rank(int[])"},{"p":"<Unnamed>","c":"PartitionSearch","l":"rate(int, CodeSet, long, BatchScorer, byte[], int[])","u":"rate(int,CodeSet,long,BatchScorer,byte[],int[])"},{"p":"<Unnamed>","c":"GameStats","l":"record(int)"},{"p":"<Unnamed>","c":"ResultLog","l":"record(int, Strategy, boolean, boolean, String, int, long)","u":"record(int,Strategy,boolean,boolean,java.lang.String,int,long)"},{"p":"<Unnamed>","c":"Symmetry","l":"relabel"},{"p":"<Unnamed>","c":"Symmetry","l":"relabelFree(int[])"},{"p":"<Unnamed>","c":"Symmetry","l":"relabels"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"remaining"},{"p":"<Unnamed>","c":"SolverMetrics","l":"REMAINING"},{"p":"<Unnamed>","c":"SolverMetrics","l":"remaining(int, int)","u":"remaining(int,int)"},{"p":"<Unnamed>","c":"Solver","l":"remainingPossibilities"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"removed"},{"p":"<Unnamed>","c":"SolverMetrics","l":"REMOVED"},{"p":"<Unnamed>","c":"Solver","l":"removeImpossibleGuesses(int)"},{"p":"<Unnamed>","c":"Symmetry","l":"representatives(CodeSet, int[], int)","u":"representatives(CodeSet,int[],int)"},{"p":"<Unnamed>","c":"Candidates","l":"reset()"},{"p":"<Unnamed>","c":"GameSession","l":"reset()"},{"p":"<Unnamed>","c":"Mastermind","l":"reset()"},{"p":"<Unnamed>","c":"Solver","l":"reset()"},{"p":"<Unnamed>","c":"SolverMetrics","l":"reset()"},{"p":"<Unnamed>","c":"TreePlayer","l":"reset()"},{"p":"<Unnamed>","c":"ResultLog","l":"ResultLog(Path)","u":"%3Cinit%3E(java.nio.file.Path)"},{"p":"<Unnamed>","c":"MastermindTest","l":"results"},{"p":"<Unnamed>","c":"Candidates","l":"retain(int, int)","u":"retain(int,int)"},{"p":"<Unnamed>","c":"CodeBits","l":"retainAll(long[])"},{"p":"<Unnamed>","c":"CodeSet","l":"retainIf(IntPredicate)","u":"retainIf(java.util.function.IntPredicate)"},{"p":"<Unnamed>","c":"DecisionTree","l":"root()"},{"p":"<Unnamed>","c":"MastermindTest","l":"runAll()"},{"p":"<Unnamed>","c":"MastermindTest","l":"runBatchSims(int, int, Strategy)","u":"runBatchSims(int,int,Strategy)"},{"p":"<Unnamed>","c":"MastermindTest","l":"runBudgetSims(int, int, int, int[], long[])","u":"runBudgetSims(int,int,int,int[],long[])"},{"p":"<Unnamed>","c":"MastermindTest","l":"runGameSims(int, int, int, Strategy, boolean)","u":"runGameSims(int,int,int,Strategy,boolean)"},{"p":"<Unnamed>","c":"MastermindTest","l":"runGameSims(int, Strategy)","u":"runGameSims(int,Strategy)"},{"p":"<Unnamed>","c":"MastermindTest","l":"runSamplingSims(int, int, int, Sampling)","u":"runSamplingSims(int,int,int,Sampling)"},{"p":"<Unnamed>","c":"MastermindTest","l":"runTreeSims(int, int, int, Strategy, boolean)","u":"runTreeSims(int,int,int,Strategy,boolean)"},{"p":"<Unnamed>","c":"MastermindTest","l":"SAMPLE_GUESSES"},{"p":"<Unnamed>","c":"MastermindTest","l":"SAMPLE_SECRETS"},{"p":"<Unnamed>","c":"Sampling","l":"sample(CodeSet, int, SplittableRandom)","u":"sample(CodeSet,int,java.util.SplittableRandom)"},{"p":"<Unnamed>","c":"Sampling","l":"sample(CodeSpace, int, SplittableRandom)","u":"sample(CodeSpace,int,java.util.SplittableRandom)"},{"p":"<Unnamed>","c":"Solver","l":"sampling"},{"p":"<Unnamed>","c":"SolverFactory","l":"sampling"},{"p":"<Unnamed>","c":"Sampling","l":"Sampling(int, int, long)","u":"%3Cinit%3E(int,int,long)"},{"p":"<Unnamed>","c":"DecisionTree","l":"save(Path)","u":"save(java.nio.file.Path)"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"score(int)"},{"p":"<Unnamed>","c":"BatchScorer","l":"score(int, byte[])","u":"score(int,byte[])"},{"p":"<Unnamed>","c":"FeedbackTable","l":"score(int, int, int, int)","u":"score(int,int,int,int)"},{"p":"<Unnamed>","c":"Scorer","l":"score(int, int, int, int)","u":"score(int,int,int,int)"},{"p":"<Unnamed>","c":"Scorer","l":"score(int[], int[])","u":"score(int[],int[])"},{"p":"<Unnamed>","c":"SolverMetrics","l":"scored(long)"},{"p":"<Unnamed>","c":"Scorer","l":"Scorer()","u":"%3Cinit%3E()"},{"p":"<Unnamed>","c":"Scorer","l":"scoreWide(int[], int[])","u":"scoreWide(int[],int[])"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"scorings"},{"p":"<Unnamed>","c":"SolverMetrics","l":"SCORINGS"},{"p":"<Unnamed>","c":"SolverMetrics","l":"SEARCH_NANOS"},{"p":"<Unnamed>","c":"SolverFactory","l":"search()"},{"p":"<Unnamed>","c":"Symmetry","l":"search(int)"},{"p":"<Unnamed>","c":"SolverMetrics","l":"searched(long)"},{"p":"<Unnamed>","c":"SolverFactory","l":"searches"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"searches"},{"p":"<Unnamed>","c":"SolverMetrics","l":"SEARCHES"},{"p":"<Unnamed>","c":"Solver","l":"searchGuess(CodeSet, int[], int, Budget)","u":"searchGuess(CodeSet,int[],int,Budget)"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"searchNanos"},{"p":"<Unnamed>","c":"BatchSolver.Walker","l":"secrets"},{"p":"<Unnamed>","c":"Sampling","l":"secrets"},{"p":"<Unnamed>","c":"Sampling","l":"seed"},{"p":"<Unnamed>","c":"MastermindTest","l":"SEED"},{"p":"<Unnamed>","c":"Mastermind","l":"setHiddenGuess(int)"},{"p":"<Unnamed>","c":"Mastermind","l":"setHiddenGuess(int[])"},{"p":"<Unnamed>","c":"PartitionSearch","l":"sharedPool(int)"},{"p":"<Unnamed>","c":"BatchScorer","l":"size"},{"p":"<Unnamed>","c":"CodeBits","l":"size"},{"p":"<Unnamed>","c":"CodeSet","l":"size"},{"p":"<Unnamed>","c":"CodeSpace","l":"size"},{"p":"<Unnamed>","c":"FeedbackTable","l":"size"},{"p":"<Unnamed>","c":"GuessCache.Fingerprint","l":"size"},{"p":"<Unnamed>","c":"BatchScorer","l":"size()"},{"p":"<Unnamed>","c":"Candidates","l":"size()"},{"p":"<Unnamed>","c":"CodeBits","l":"size()"},{"p":"<Unnamed>","c":"CodeSet","l":"size()"},{"p":"<Unnamed>","c":"CodeSpace","l":"size()"},{"p":"<Unnamed>","c":"DecisionTree","l":"size()"},{"p":"<Unnamed>","c":"GuessCache","l":"size()"},{"p":"<Unnamed>","c":"OutcomeMasks","l":"size()"},{"p":"<Unnamed>","c":"MastermindTest.Spread","l":"slowest"},{"p":"<Unnamed>","c":"SolverMetrics","l":"SLOWEST_GUESS_NANOS"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"slowestGuessNanos"},{"p":"<Unnamed>","c":"SolverMetrics","l":"snapshot()"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"Snapshot(long, long, long, long, long, long, long, long, long[], long[])","u":"%3Cinit%3E(long,long,long,long,long,long,long,long,long[],long[])"},{"p":"<Unnamed>","c":"BatchSolver","l":"solve(Solver, CodeSet)","u":"solve(Solver,CodeSet)"},{"p":"<Unnamed>","c":"Solver","l":"solved"},{"p":"<Unnamed>","c":"DecisionTree","l":"SOLVED"},{"p":"<Unnamed>","c":"BatchSolver.Walker","l":"solver"},{"p":"<Unnamed>","c":"DecisionTree.Builder","l":"solver"},{"p":"<Unnamed>","c":"GameSession","l":"solver"},{"p":"<Unnamed>","c":"Mastermind","l":"solver"},{"p":"<Unnamed>","c":"Solver","l":"Solver(int, int, Strategy)","u":"%3Cinit%3E(int,int,Strategy)"},{"p":"<Unnamed>","c":"Solver","l":"Solver(int, int, Strategy, int)","u":"%3Cinit%3E(int,int,Strategy,int)"},{"p":"<Unnamed>","c":"Solver","l":"Solver(int, int, Strategy, int, boolean)","u":"%3Cinit%3E(int,int,Strategy,int,boolean)"},{"p":"<Unnamed>","c":"Solver","l":"Solver(int, int, Strategy, int, boolean, GuessCache)","u":"%3Cinit%3E(int,int,Strategy,int,boolean,GuessCache)"},{"p":"<Unnamed>","c":"Solver","l":"Solver(int, int, Strategy, int, boolean, GuessCache, Sampling)","u":"%3Cinit%3E(int,int,Strategy,int,boolean,GuessCache,Sampling)"},{"p":"<Unnamed>","c":"Solver","l":"Solver(SolverFactory)","u":"%3Cinit%3E(SolverFactory)"},{"p":"<Unnamed>","c":"SolverFactory","l":"SolverFactory(int, int, Strategy)","u":"%3Cinit%3E(int,int,Strategy)"},{"p":"<Unnamed>","c":"SolverFactory","l":"SolverFactory(int, int, Strategy, int, boolean, GuessCache, Sampling)","u":"%3Cinit%3E(int,int,Strategy,int,boolean,GuessCache,Sampling)"},{"p":"<Unnamed>","c":"SolverMetrics","l":"SolverMetrics()","u":"%3Cinit%3E()"},{"p":"<Unnamed>","c":"Candidates","l":"space"},{"p":"<Unnamed>","c":"Solver","l":"space"},{"p":"<Unnamed>","c":"SolverFactory","l":"space"},{"p":"<Unnamed>","c":"MastermindTest.Spread","l":"Spread()","u":"%3Cinit%3E()"},{"p":"<Unnamed>","c":"MastermindTest.Progress","l":"start"},{"p":"<Unnamed>","c":"MastermindTest.Progress","l":"start(String)","u":"start(java.lang.String)"},{"p":"<Unnamed>","c":"Solver","l":"state"},{"p":"<Unnamed>","c":"MastermindTest.Spread","l":"stats"},{"p":"<Unnamed>","c":"DecisionTree","l":"strategy"},{"p":"<Unnamed>","c":"Solver","l":"strategy"},{"p":"<Unnamed>","c":"SolverFactory","l":"strategy"},{"p":"<Unnamed>","c":"Strategy","l":"Strategy()","u":"%3Cinit%3E()"},{"p":"<Unnamed>","c":"GameSession","l":"submitFeedback(int, int)","u":"submitFeedback(int,int)"},{"p":"<Unnamed>","c":"Solver","l":"submitFeedback(int, int)","u":"submitFeedback(int,int)"},{"p":"<Unnamed>","c":"TreePlayer","l":"submitFeedback(int, int)","u":"submitFeedback(int,int)"},{"p":"<Unnamed>","c":"SolverFactory","l":"symmetries"},{"p":"<Unnamed>","c":"SolverFactory","l":"symmetry()"},{"p":"<Unnamed>","c":"Symmetry","l":"Symmetry(int, int)","u":"%3Cinit%3E(int,int)"},{"p":"<Unnamed>","c":"FeedbackTable","l":"table"},{"p":"<Unnamed>","c":"PartitionSearch","l":"threads"},{"p":"<Unnamed>","c":"MastermindTest","l":"THREADS"},{"p":"<Unnamed>","c":"Budget","l":"timed"},{"p":"<Unnamed>","c":"CodeSpace","l":"toCodeSet()"},{"p":"<Unnamed>","c":"Sampling","l":"toString()"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"toString()"},{"p":"<Unnamed>","c":"MastermindTest.Spread","l":"total"},{"p":"<Unnamed>","c":"GameStats","l":"totalGuesses"},{"p":"<Unnamed>","c":"TreePlayer","l":"tree"},{"p":"<Unnamed>","c":"TreePlayer","l":"TreePlayer(DecisionTree)","u":"%3Cinit%3E(DecisionTree)"},{"p":"<Unnamed>","c":"SolverMetrics.GuessEvent","l":"turn"},{"p":"<Unnamed>","c":"SolverMetrics.Snapshot","l":"turns"},{"p":"<Unnamed>","c":"SolverMetrics","l":"TURNS"},{"p":"<Unnamed>","c":"SolverMetrics","l":"TURNS_COUNTED"},{"p":"<Unnamed>","c":"Sampling","l":"union(CodeSet, CodeSet)","u":"union(CodeSet,CodeSet)"},{"p":"<Unnamed>","c":"Budget","l":"UNLIMITED"},{"p":"<Unnamed>","c":"Codes","l":"unpack(int, int, int)","u":"unpack(int,int,int)"},{"p":"<Unnamed>","c":"Codes","l":"unpack(int, int, int[])","u":"unpack(int,int,int[])"},{"p":"<Unnamed>","c":"CodeSpace","l":"unrank(int)"},{"p":"<Unnamed>","c":"Symmetry","l":"used"},{"p":"<Unnamed>","c":"Criterion","l":"valueOf(String)","u":"valueOf(java.lang.String)"},{"p":"<Unnamed>","c":"Strategy","l":"valueOf(String)","u":"valueOf(java.lang.String)"},{"p":"<Unnamed>","c":"Criterion","l":"values()"},{"p":"<Unnamed>","c":"Strategy","l":"values()"},{"p":"<Unnamed>","c":"BatchScorer","l":"VECTOR"},{"p":"<Unnamed>","c":"FeedbackTable","l":"VERSION"},{"p":"<Unnamed>","c":"GameSession","l":"waiting"},{"p":"<Unnamed>","c":"BatchSolver.Walker","l":"Walker(Solver, CodeSet)","u":"%3Cinit%3E(Solver,CodeSet)"},{"p":"<Unnamed>","c":"PartitionSearch","l":"weights"},{"p":"<Unnamed>","c":"Criterion","l":"weights(int)"},{"p":"<Unnamed>","c":"Scorer","l":"whites(int)"},{"p":"<Unnamed>","c":"Scorer","l":"whites(long, long)","u":"whites(long,long)"},{"p":"<Unnamed>","c":"FeedbackTable","l":"whitesOf(int, int)","u":"whitesOf(int,int)"},{"p":"<Unnamed>","c":"Candidates","l":"whole"},{"p":"<Unnamed>","c":"CodeBits","l":"words"},{"p":"<Unnamed>","c":"CodeBits","l":"words(int)"},{"p":"<Unnamed>","c":"MastermindTest","l":"WORKERS"},{"p":"<Unnamed>","c":"Criterion","l":"WORST_CASE"},{"p":"<Unnamed>","c":"FeedbackTable","l":"write(Path, int, int, ByteBuffer)","u":"write(java.nio.file.Path,int,int,java.nio.ByteBuffer)"},{"p":"<Unnamed>","c":"ResultLog","l":"writer"}];updateSearchResults();
\ No newline at end of file